@@ -0,0 +1,37 @@
+// Load test k6 per GET /api/v1/nodes/cbdb/{cbdbId}: confronto thread di piattaforma / thread virtuali.
+//
+// 1. Avviare il servizio con la configurazione di default (thread di piattaforma) ed eseguire:
+//      k6 run -e BASE_URL=http://localhost:8080 -e CBDB_IDS=ID1,ID2,ID3 ci/loadtest/cbdb-lookup.js
+// 2. Riavviare con MITO_GRAPH_VIRTUALTHREADS_ENABLED=true e ripetere lo stesso comando.
+// 3. Confrontare http_req_duration (p95/p99), http_req_failed e iterations/s dei due run;
+//    con i thread di piattaforma gli errori compaiono quando i VU superano server.tomcat.threads.max.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const baseUrl = __ENV.BASE_URL || 'http://localhost:8080';
+const cbdbIds = (__ENV.CBDB_IDS || 'CBDB_1').split(',');
+
+export const options = {
+    scenarios: {
+        ramp: {
+            executor: 'ramping-vus',
+            startVUs: 50,
+            stages: [
+                { duration: '30s', target: 500 },
+                { duration: '1m', target: 2000 },
+                { duration: '1m', target: 2000 },
+                { duration: '30s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        http_req_duration: ['p(95)<500'],
+    },
+};
+
+export default function () {
+    const cbdbId = cbdbIds[Math.floor(Math.random() * cbdbIds.length)];
+    const response = http.get(`${baseUrl}/api/v1/nodes/cbdb/${encodeURIComponent(cbdbId)}`);
+    check(response, { 'status is 200': (r) => r.status === 200 });
+}
@@ -2,50 +2,218 @@ package com.mito.graphms.application.api;
 
 import com.mito.graphms.domain.entity.GraphNode;
 import com.mito.graphms.domain.entity.GraphRelationship;
+import com.mito.graphms.dto.BulkWriteResult;
+import com.mito.graphms.dto.CounterDelta;
+import com.mito.graphms.dto.CursorPage;
+import com.mito.graphms.dto.GraphNodeView;
+import com.mito.graphms.dto.GraphStats;
+import com.mito.graphms.dto.ImpactReport;
+import com.mito.graphms.dto.ImpactRequest;
+import com.mito.graphms.dto.MapCluster;
+import com.mito.graphms.dto.PathResult;
 import com.mito.graphms.dto.QueryRequest;
+import com.mito.graphms.dto.QueryShapeStats;
+import com.mito.graphms.dto.RelationshipImportRow;
+import com.mito.graphms.dto.StatusUpdate;
+import com.mito.graphms.dto.SchemaIndexStatus;
+import com.mito.graphms.dto.SubgraphView;
+import com.mito.graphms.dto.TraversalDirection;
+import com.mito.graphms.entity.service.CounterWriteCombiner;
+import com.mito.graphms.entity.service.GraphBulkService;
+import com.mito.graphms.entity.service.GraphGeoService;
+import com.mito.graphms.entity.service.GraphPathService;
+import com.mito.graphms.entity.service.GraphStatsService;
+import com.mito.graphms.entity.service.GraphTraversalService;
+import com.mito.graphms.entity.service.ImpactAnalysisService;
 import com.mito.graphms.entity.service.Neo4jDataService;
+import com.mito.graphms.entity.service.QueryRejectedException;
+import com.mito.graphms.entity.service.QueryShapeRegistry;
+import com.mito.graphms.entity.service.SchemaManager;
+import com.mito.graphms.entity.service.StatusUpdateQueue;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/api/v1")
 public class GraphNodeController {
 
     private final Neo4jDataService neo4jDataService;
+    private final GraphBulkService graphBulkService;
+    private final GraphTraversalService graphTraversalService;
+    private final ImpactAnalysisService impactAnalysisService;
+    private final GraphPathService graphPathService;
+    private final GraphGeoService graphGeoService;
+    private final GraphStatsService graphStatsService;
+    private final CounterWriteCombiner counterWriteCombiner;
+    private final StatusUpdateQueue statusUpdateQueue;
+    private final QueryShapeRegistry queryShapeRegistry;
+    private final SchemaManager schemaManager;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public GraphNodeController(Neo4jDataService neo4jDataService) {
+    public GraphNodeController(
+        Neo4jDataService neo4jDataService,
+        GraphBulkService graphBulkService,
+        GraphTraversalService graphTraversalService,
+        ImpactAnalysisService impactAnalysisService,
+        GraphPathService graphPathService,
+        GraphGeoService graphGeoService,
+        GraphStatsService graphStatsService,
+        CounterWriteCombiner counterWriteCombiner,
+        StatusUpdateQueue statusUpdateQueue,
+        QueryShapeRegistry queryShapeRegistry,
+        SchemaManager schemaManager,
+        ObjectMapper objectMapper
+    ) {
         this.neo4jDataService = neo4jDataService;
+        this.graphBulkService = graphBulkService;
+        this.graphTraversalService = graphTraversalService;
+        this.impactAnalysisService = impactAnalysisService;
+        this.graphPathService = graphPathService;
+        this.graphGeoService = graphGeoService;
+        this.graphStatsService = graphStatsService;
+        this.counterWriteCombiner = counterWriteCombiner;
+        this.statusUpdateQueue = statusUpdateQueue;
+        this.queryShapeRegistry = queryShapeRegistry;
+        this.schemaManager = schemaManager;
+        this.objectMapper = objectMapper;
     }
 
     @Tag(name = "Node Management")
     @GetMapping("/nodes")
-    @Operation(summary = "Retrieve all nodes")
-    public ResponseEntity<List<GraphNode>> getAllNodes() {
-        return ResponseEntity.ok(neo4jDataService.findAllNodes());
+    @Operation(summary = "Retrieve all nodes (relationships are hydrated only with full=true)")
+    public ResponseEntity<List<GraphNode>> getAllNodes(
+        @RequestParam(defaultValue = "false") boolean full
+    ) {
+        return ResponseEntity.ok(full ? neo4jDataService.findAllNodes() : neo4jDataService.findAllNodesShallow());
+    }
+
+    @Tag(name = "Node Management")
+    @GetMapping("/nodes/page")
+    @Operation(summary = "Retrieve a page of nodes ordered by CBDB ID (keyset pagination)")
+    public ResponseEntity<CursorPage<GraphNode>> getNodesPage(
+        @RequestParam(required = false) String after,
+        @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(neo4jDataService.findNodesPage(after, limit));
+    }
+
+    @Tag(name = "Geospatial")
+    @GetMapping("/nodes/near")
+    @Operation(summary = "Retrieve the nodes within a radius of a location, nearest first (cursor pagination)")
+    public ResponseEntity<CursorPage<GraphNode>> getNodesNear(
+        @RequestParam double lat,
+        @RequestParam double lon,
+        @RequestParam double radiusKm,
+        @RequestParam(required = false) String itemType,
+        @RequestParam(required = false) String status,
+        @RequestParam(required = false) String after,
+        @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(graphGeoService.findNear(lat, lon, radiusKm, itemType, status, after, limit));
+    }
+
+    @Tag(name = "Geospatial")
+    @GetMapping("/nodes/within")
+    @Operation(summary = "Retrieve the nodes inside a bounding box minLon,minLat,maxLon,maxLat (keyset pagination)")
+    public ResponseEntity<CursorPage<GraphNode>> getNodesWithin(
+        @RequestParam String bbox,
+        @RequestParam(required = false) String itemType,
+        @RequestParam(required = false) String status,
+        @RequestParam(required = false) String after,
+        @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(graphGeoService.findWithin(bbox, itemType, status, after, limit));
+    }
+
+    @Tag(name = "Geospatial")
+    @GetMapping("/nodes/clusters")
+    @Operation(
+        summary = "Count the nodes inside a bounding box per cell of a grid sized for the map zoom level",
+        description = "A bounding box covering more cells than mito.graph.geo.cluster.max-cells is clustered at a lower zoom"
+    )
+    public ResponseEntity<List<MapCluster>> getNodeClusters(
+        @RequestParam String bbox,
+        @RequestParam int zoom,
+        @RequestParam(required = false) String itemType,
+        @RequestParam(required = false) String status
+    ) {
+        return ResponseEntity.ok(graphGeoService.cluster(bbox, zoom, itemType, status));
+    }
+
+    @Tag(name = "Node Management")
+    @GetMapping(value = "/nodes/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all nodes as NDJSON")
+    public ResponseEntity<StreamingResponseBody> streamAllNodes() {
+        return ndjson(neo4jDataService::streamAllNodes);
     }
 
     @Tag(name = "Node Management")
     @GetMapping("/nodes/{id}")
-    @Operation(summary = "Retrieve a node by its internal ID")
-    public ResponseEntity<GraphNode> getNodeById(@PathVariable String id) {
-        return neo4jDataService.findNodeById(id)
+    @Operation(summary = "Retrieve a node by its internal ID (shallow view unless full=true)")
+    public ResponseEntity<?> getNodeById(
+        @PathVariable String id,
+        @RequestParam(defaultValue = "0") int depth,
+        @RequestParam(required = false) Integer neighbourLimit,
+        @RequestParam(defaultValue = "false") boolean full
+    ) {
+        if (full) {
+            return neo4jDataService.findNodeById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+        }
+        return neo4jDataService.findNodeViewById(id, depth, neighbourLimit)
             .map(ResponseEntity::ok)
             .orElse(ResponseEntity.notFound().build());
     }
 
     @Tag(name = "Node Management")
     @GetMapping("/nodes/cbdb/{cbdbId}")
-    @Operation(summary = "Retrieve a node by its CBDB ID")
-    public ResponseEntity<GraphNode> getNodeByCbdbId(@PathVariable String cbdbId) {
-        return neo4jDataService.findNodeByCbdbId(cbdbId)
+    @Operation(summary = "Retrieve a node by its CBDB ID (shallow view unless full=true)")
+    public ResponseEntity<?> getNodeByCbdbId(
+        @PathVariable String cbdbId,
+        @RequestParam(defaultValue = "0") int depth,
+        @RequestParam(required = false) Integer neighbourLimit,
+        @RequestParam(defaultValue = "false") boolean full
+    ) {
+        if (full) {
+            return neo4jDataService.findNodeByCbdbId(cbdbId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+        }
+        return neo4jDataService.findNodeViewByCbdbId(cbdbId, depth, neighbourLimit)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Tag(name = "Node Management")
+    @GetMapping("/nodes/cbdb/{cbdbId}/neighbourhood")
+    @Operation(summary = "Retrieve the k-hop neighbourhood of a node as de-duplicated nodes and edges")
+    public ResponseEntity<SubgraphView> getNeighbourhood(
+        @PathVariable String cbdbId,
+        @RequestParam(required = false) Integer depth,
+        @RequestParam(defaultValue = "BOTH") TraversalDirection direction,
+        @RequestParam(required = false) List<String> types,
+        @RequestParam(required = false) Integer limit
+    ) {
+        return graphTraversalService.findNeighbourhood(cbdbId, depth, direction, types, limit)
             .map(ResponseEntity::ok)
             .orElse(ResponseEntity.notFound().build());
     }
@@ -57,6 +225,22 @@ public class GraphNodeController {
         return ResponseEntity.ok(neo4jDataService.createNode(node));
     }
 
+    @Tag(name = "Node Management")
+    @PostMapping(
+        value = "/nodes/bulk",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE}
+    )
+    @Operation(summary = "Create or update many nodes by CBDB ID (JSON array or NDJSON)")
+    public ResponseEntity<BulkWriteResult> bulkUpsertNodes(
+        InputStream body,
+        @RequestParam(required = false) Integer batchSize
+    ) throws IOException {
+        // readValues iterates both a root level JSON array and whitespace separated documents
+        try (MappingIterator<GraphNode> nodes = objectMapper.readerFor(GraphNode.class).readValues(body)) {
+            return ResponseEntity.ok(graphBulkService.upsertNodes(nodes, batchSize));
+        }
+    }
+
     @Tag(name = "Node Management")
     @PutMapping("/nodes/{id}")
     @Operation(summary = "Update an existing node")
@@ -84,6 +268,83 @@ public class GraphNodeController {
         return ResponseEntity.noContent().build();
     }
 
+    @Tag(name = "Node Management")
+    @PostMapping("/nodes/cbdb/{cbdbId}/counters")
+    @Operation(summary = "Increment numberOfIncidents/numberOfEvents/numberOfPlanned atomically " +
+        "(202 when increments are combined server-side, 429 when too many items are waiting for a flush)")
+    public ResponseEntity<GraphNode> incrementCounters(
+        @PathVariable String cbdbId,
+        @RequestBody CounterDelta delta
+    ) {
+        if (counterWriteCombiner.isEnabled()) {
+            counterWriteCombiner.add(cbdbId, delta);
+            return ResponseEntity.accepted().build();
+        }
+        return neo4jDataService.incrementCounters(cbdbId, delta)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Tag(name = "Node Management")
+    @PostMapping("/nodes/cbdb/{cbdbId}/status")
+    @Operation(summary = "Queue a status/statusDetail change, written asynchronously in batches (429 when the queue is full)")
+    public ResponseEntity<Void> queueStatusUpdate(
+        @PathVariable String cbdbId,
+        @RequestBody StatusUpdate update
+    ) {
+        if (update.getStatus() == null && update.getStatusDetail() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        update.setCbdbId(cbdbId);
+        statusUpdateQueue.submit(update);
+        return ResponseEntity.accepted().build();
+    }
+
+    @Tag(name = "Node Management")
+    @PostMapping("/nodes/status")
+    @Operation(summary = "Queue many status/statusDetail changes; on 429 the updates before the failing one are queued")
+    public ResponseEntity<Void> queueStatusUpdates(@RequestBody List<StatusUpdate> updates) {
+        for (StatusUpdate update : updates) {
+            if (update.getCbdbId() == null || update.getCbdbId().isBlank()
+                || (update.getStatus() == null && update.getStatusDetail() == null)) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        updates.forEach(statusUpdateQueue::submit);
+        return ResponseEntity.accepted().build();
+    }
+
+    @Tag(name = "Impact Analysis")
+    @PostMapping("/impact")
+    @Operation(summary = "Compute the items affected by the failure of one or more items")
+    public ResponseEntity<ImpactReport> analyseImpact(@RequestBody ImpactRequest impactRequest) {
+        return ResponseEntity.ok(impactAnalysisService.analyse(impactRequest));
+    }
+
+    @Tag(name = "Impact Analysis")
+    @PostMapping(value = "/impact/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream the affected items as NDJSON, followed by the aggregated report as last line")
+    public ResponseEntity<StreamingResponseBody> streamImpact(@RequestBody ImpactRequest impactRequest) {
+        return ndjson(consumer -> consumer.accept(impactAnalysisService.analyse(impactRequest, consumer)));
+    }
+
+    @Tag(name = "Path Analysis")
+    @GetMapping("/paths")
+    @Operation(summary = "Find the shortest path, or the k shortest paths, between two items")
+    public ResponseEntity<PathResult> findPaths(
+        @RequestParam String from,
+        @RequestParam String to,
+        @RequestParam(required = false) Integer maxDepth,
+        @RequestParam(defaultValue = "BOTH") TraversalDirection direction,
+        @RequestParam(required = false) List<String> types,
+        @RequestParam(defaultValue = "1") Integer k,
+        @RequestParam(defaultValue = "false") boolean weighted
+    ) {
+        return graphPathService.findPaths(from, to, maxDepth, direction, types, k, weighted)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
     @Tag(name = "Query Management")
     @PostMapping("/query")
     @Operation(summary = "Execute a custom Cypher query with parameters")
@@ -97,9 +358,61 @@ public class GraphNodeController {
     @PostMapping("/query/text")
     @Operation(summary = "Execute a custom Cypher query as plain text (Legacy)")
     public ResponseEntity<List<Map<String, Object>>> executeCustomQueryPlainText(
-        @RequestBody String cypherQuery
+        @RequestBody String cypherQuery,
+        @RequestParam(required = false) Long timeoutMs,
+        @RequestParam(required = false) Long maxRows
+    ) {
+        return ResponseEntity.ok(neo4jDataService.executeCustomQuery(cypherQuery, timeoutMs, maxRows));
+    }
+
+    @Tag(name = "Query Management")
+    @PostMapping(value = "/query/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Execute a custom Cypher query with parameters and stream the rows as NDJSON",
+        description = "Rows past the stream row limit are not sent: the stream then ends with a " +
+            "{\"error\": ..., \"truncated\": true} line, since the 200 status is already committed"
+    )
+    public ResponseEntity<StreamingResponseBody> streamCustomQuery(@RequestBody QueryRequest queryRequest) {
+        return ndjson(consumer -> neo4jDataService.streamCustomQuery(queryRequest, consumer));
+    }
+
+    @Tag(name = "Query Management")
+    @PostMapping(value = "/query/text/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Execute a custom Cypher query as plain text and stream the rows as NDJSON",
+        description = "Rows past the stream row limit are not sent: the stream then ends with a " +
+            "{\"error\": ..., \"truncated\": true} line, since the 200 status is already committed"
+    )
+    public ResponseEntity<StreamingResponseBody> streamCustomQueryPlainText(
+        @RequestBody String cypherQuery,
+        @RequestParam(required = false) Long timeoutMs,
+        @RequestParam(required = false) Long maxRows
     ) {
-        return ResponseEntity.ok(neo4jDataService.executeCustomQuery(cypherQuery));
+        QueryRequest queryRequest = new QueryRequest(cypherQuery);
+        queryRequest.setTimeoutMs(timeoutMs);
+        queryRequest.setMaxRows(maxRows);
+        return ndjson(consumer -> neo4jDataService.streamCustomQuery(queryRequest, consumer));
+    }
+
+    @Tag(name = "Query Management")
+    @GetMapping("/query/shapes")
+    @Operation(summary = "List the most executed normalised query shapes with their execution statistics")
+    public ResponseEntity<List<QueryShapeStats>> getQueryShapes(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(queryShapeRegistry.topShapes(limit));
+    }
+
+    @Tag(name = "Statistics")
+    @GetMapping("/stats")
+    @Operation(summary = "Item counts by type, status, importance and location, and incident/event/planned totals")
+    public ResponseEntity<GraphStats> getStats() {
+        return ResponseEntity.ok(graphStatsService.stats());
+    }
+
+    @Tag(name = "Schema Management")
+    @GetMapping("/schema/indexes")
+    @Operation(summary = "List the ITEM indexes and constraints with their population state")
+    public ResponseEntity<List<SchemaIndexStatus>> getSchemaIndexes() {
+        return ResponseEntity.ok(schemaManager.status());
     }
 
     @Tag(name = "Relationship Management")
@@ -113,6 +426,22 @@ public class GraphNodeController {
         return ResponseEntity.ok(neo4jDataService.createRelationship(sourceCbdbId, targetCbdbId, type));
     }
 
+    @Tag(name = "Relationship Management")
+    @PostMapping(
+        value = "/relationships/bulk",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE}
+    )
+    @Operation(summary = "Create or update many relationships between existing nodes (JSON array or NDJSON)")
+    public ResponseEntity<BulkWriteResult> bulkImportRelationships(
+        InputStream body,
+        @RequestParam(required = false) Integer batchSize
+    ) throws IOException {
+        try (MappingIterator<RelationshipImportRow> rows =
+                 objectMapper.readerFor(RelationshipImportRow.class).readValues(body)) {
+            return ResponseEntity.ok(graphBulkService.importRelationships(rows, batchSize));
+        }
+    }
+
     @Tag(name = "Relationship Management")
     @GetMapping("/relationships")
     @Operation(summary = "Get all relationships")
@@ -120,6 +449,23 @@ public class GraphNodeController {
         return ResponseEntity.ok(neo4jDataService.findAllRelationships());
     }
 
+    @Tag(name = "Relationship Management")
+    @GetMapping("/relationships/page")
+    @Operation(summary = "Get a page of relationships ordered by ID (keyset pagination)")
+    public ResponseEntity<CursorPage<GraphRelationship>> getRelationshipsPage(
+        @RequestParam(required = false) String after,
+        @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(neo4jDataService.findRelationshipsPage(after, limit));
+    }
+
+    @Tag(name = "Relationship Management")
+    @GetMapping(value = "/relationships/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all relationships as NDJSON")
+    public ResponseEntity<StreamingResponseBody> streamAllRelationships() {
+        return ndjson(neo4jDataService::streamAllRelationships);
+    }
+
     @Tag(name = "Relationship Management")
     @GetMapping("/relationships/{id}")
     @Operation(summary = "Get a relationship by ID")
@@ -192,4 +538,35 @@ public class GraphNodeController {
         neo4jDataService.createRelation(sourceCmdbId, targetCmdbId, relationType);
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Wrap a streaming producer into an NDJSON response: one JSON document per line,
+     * written as soon as the producer hands it over. The 200 status is sent with the
+     * first rows, so a guardrail rejection (e.g. the row limit) met mid-stream ends the
+     * stream with a last {@code {"error": ..., "truncated": true}} line instead.
+     */
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<Object>> producer) {
+        StreamingResponseBody body = outputStream -> {
+            try {
+                producer.accept(item -> writeLine(outputStream, item));
+            } catch (QueryRejectedException e) {
+                Map<String, Object> error = new LinkedHashMap<>();
+                error.put("error", e.getMessage());
+                error.put("truncated", true);
+                writeLine(outputStream, error);
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
+    private void writeLine(OutputStream outputStream, Object item) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(item));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.mito.graphms.application.api;
+
+import com.mito.graphms.domain.entity.GraphNode;
+import com.mito.graphms.domain.entity.GraphRelationship;
+import com.mito.graphms.dto.QueryRequest;
+import com.mito.graphms.entity.service.ReactiveGraphService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive variants of the read and query endpoints, enabled with
+ * {@code mito.graph.reactive.enabled}. Spring MVC subscribes to the returned
+ * publishers asynchronously, so the servlet thread is released while Neo4j works
+ * and NDJSON streams are written one element per request of the subscriber.
+ */
+@RestController
+@RequestMapping("/api/v1/reactive")
+@ConditionalOnProperty(name = "mito.graph.reactive.enabled", havingValue = "true")
+public class ReactiveGraphController {
+
+    private final ReactiveGraphService reactiveGraphService;
+
+    @Autowired
+    public ReactiveGraphController(ReactiveGraphService reactiveGraphService) {
+        this.reactiveGraphService = reactiveGraphService;
+    }
+
+    @Tag(name = "Reactive")
+    @GetMapping(value = "/nodes/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all nodes as NDJSON (non-blocking)")
+    public Flux<GraphNode> streamAllNodes() {
+        return reactiveGraphService.findAllNodes();
+    }
+
+    @Tag(name = "Reactive")
+    @GetMapping("/nodes/{id}")
+    @Operation(summary = "Retrieve a node by its internal ID, without relationships (non-blocking)")
+    public Mono<ResponseEntity<GraphNode>> getNodeById(@PathVariable String id) {
+        return reactiveGraphService.findNodeById(id)
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @Tag(name = "Reactive")
+    @GetMapping("/nodes/cbdb/{cbdbId}")
+    @Operation(summary = "Retrieve a node by its CBDB ID, without relationships (non-blocking)")
+    public Mono<ResponseEntity<GraphNode>> getNodeByCbdbId(@PathVariable String cbdbId) {
+        return reactiveGraphService.findNodeByCbdbId(cbdbId)
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @Tag(name = "Reactive")
+    @GetMapping(value = "/relationships/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all relationships as NDJSON (non-blocking)")
+    public Flux<GraphRelationship> streamAllRelationships() {
+        return reactiveGraphService.findAllRelationships();
+    }
+
+    @Tag(name = "Reactive")
+    @PostMapping("/query")
+    @Operation(summary = "Execute a custom Cypher query with parameters (non-blocking)")
+    public Mono<List<Map<String, Object>>> executeCustomQuery(@RequestBody QueryRequest queryRequest) {
+        return reactiveGraphService.executeQuery(queryRequest).collectList();
+    }
+
+    @Tag(name = "Reactive")
+    @PostMapping(value = "/query/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Execute a custom Cypher query with parameters and stream the rows as NDJSON (non-blocking)")
+    public Flux<Map<String, Object>> streamCustomQuery(@RequestBody QueryRequest queryRequest) {
+        return reactiveGraphService.executeQuery(queryRequest);
+    }
+}
@@ -0,0 +1,34 @@
+package com.mito.graphms.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mito.graphms.entity.service.CacheInvalidationBus;
+import com.mito.graphms.entity.service.LoopbackInvalidationBus;
+import com.mito.graphms.entity.service.MulticastInvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+@Configuration
+public class CacheInvalidationConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "mito.graph.cache.invalidation.bus", havingValue = "loopback", matchIfMissing = true)
+    public CacheInvalidationBus loopbackInvalidationBus() {
+        return new LoopbackInvalidationBus();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mito.graph.cache.invalidation.bus", havingValue = "multicast")
+    public CacheInvalidationBus multicastInvalidationBus(
+        ObjectMapper objectMapper,
+        @Value("${mito.graph.cache.invalidation.multicast.group:239.1.2.3}") String group,
+        @Value("${mito.graph.cache.invalidation.multicast.port:45678}") int port,
+        @Value("${mito.graph.cache.invalidation.multicast.interface:}") String networkInterface,
+        @Value("${mito.graph.cache.invalidation.multicast.ttl:1}") int timeToLive
+    ) throws IOException {
+        return new MulticastInvalidationBus(objectMapper, group, port, networkInterface, timeToLive);
+    }
+}
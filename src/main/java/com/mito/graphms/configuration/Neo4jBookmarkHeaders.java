@@ -0,0 +1,76 @@
+package com.mito.graphms.configuration;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.neo4j.driver.Bookmark;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.neo4j.core.transaction.Neo4jBookmarksUpdatedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Carries Neo4j causal consistency bookmarks over HTTP. Every response produced by a
+ * request that committed a transaction carries the resulting bookmarks in the
+ * {@value #HEADER} header; a client that sends them back on a later request, to
+ * any replica of this service, reads from a cluster member that has already applied
+ * its writes.
+ */
+@Component
+public class Neo4jBookmarkHeaders {
+
+    public static final String HEADER = "Neo4j-Bookmark";
+
+    /**
+     * @return Bookmarks sent by the client of the current request, empty outside a request
+     */
+    public static Set<Bookmark> fromCurrentRequest() {
+        HttpServletRequest request = currentRequest().map(ServletRequestAttributes::getRequest).orElse(null);
+        if (request == null) {
+            return Set.of();
+        }
+        Set<Bookmark> bookmarks = new HashSet<>();
+        for (String header : Collections.list(request.getHeaders(HEADER))) {
+            for (String value : header.split(",")) {
+                if (!value.isBlank()) {
+                    bookmarks.add(Bookmark.from(value.trim()));
+                }
+            }
+        }
+        return bookmarks;
+    }
+
+    /**
+     * Return the bookmarks to the client of the current request, if its response is still open
+     */
+    @EventListener
+    public void onBookmarksUpdated(Neo4jBookmarksUpdatedEvent event) {
+        HttpServletResponse response = currentRequest().map(ServletRequestAttributes::getResponse).orElse(null);
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        // A later commit in the same request replaces the bookmarks of the earlier one
+        boolean first = true;
+        for (Bookmark bookmark : event.getBookmarks()) {
+            if (first) {
+                response.setHeader(HEADER, bookmark.value());
+                first = false;
+            } else {
+                response.addHeader(HEADER, bookmark.value());
+            }
+        }
+    }
+
+    private static Optional<ServletRequestAttributes> currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes
+            ? Optional.of(servletAttributes)
+            : Optional.empty();
+    }
+}
@@ -1,18 +1,28 @@
 package com.mito.graphms.configuration;
 
 import org.neo4j.driver.AuthTokens;
+import org.neo4j.driver.Config;
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.GraphDatabase;
+import org.neo4j.driver.MetricsAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.neo4j.config.AbstractNeo4jConfig;
+import org.springframework.data.neo4j.core.transaction.Neo4jBookmarkManager;
 import org.springframework.data.neo4j.repository.config.EnableNeo4jRepositories;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 @EnableNeo4jRepositories(basePackages = "com.mito.graphms.domain.repository")
 public class Neo4jConfiguration extends AbstractNeo4jConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(Neo4jConfiguration.class);
+
     @Value("${spring.neo4j.uri}")
     private String uri;
 
@@ -22,11 +32,57 @@ public class Neo4jConfiguration extends AbstractNeo4jConfig {
     @Value("${spring.neo4j.authentication.password}")
     private String password;
 
+    @Value("${spring.neo4j.connection-timeout:30s}")
+    private Duration connectionTimeout;
+
+    @Value("${spring.neo4j.max-transaction-retry-time:30s}")
+    private Duration maxTransactionRetryTime;
+
+    @Value("${spring.neo4j.pool.max-connection-pool-size:100}")
+    private int maxConnectionPoolSize;
+
+    @Value("${spring.neo4j.pool.connection-acquisition-timeout:60s}")
+    private Duration connectionAcquisitionTimeout;
+
+    @Value("${spring.neo4j.pool.max-connection-lifetime:1h}")
+    private Duration maxConnectionLifetime;
+
+    // Negative: pooled connections are handed out without a liveness check
+    @Value("${spring.neo4j.pool.idle-time-before-connection-test:-1ms}")
+    private Duration idleTimeBeforeConnectionTest;
+
+    @Value("${spring.neo4j.pool.metrics-enabled:true}")
+    private boolean metricsEnabled;
+
+    @Value("${mito.graph.driver.fetch-size:1000}")
+    private long fetchSize;
+
     @Bean
     public Driver neo4jDriver() {
+        Config.ConfigBuilder config = Config.builder()
+            .withConnectionTimeout(connectionTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .withMaxTransactionRetryTime(maxTransactionRetryTime.toMillis(), TimeUnit.MILLISECONDS)
+            .withMaxConnectionPoolSize(maxConnectionPoolSize)
+            .withConnectionAcquisitionTimeout(connectionAcquisitionTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .withMaxConnectionLifetime(maxConnectionLifetime.toMillis(), TimeUnit.MILLISECONDS)
+            .withFetchSize(fetchSize);
+        if (!idleTimeBeforeConnectionTest.isNegative()) {
+            config.withConnectionLivenessCheckTimeout(idleTimeBeforeConnectionTest.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        if (metricsEnabled) {
+            // Pool gauges and acquisition timers (neo4j.driver.connections.*) in the global Micrometer registry
+            config.withDriverMetrics().withMetricsAdapter(MetricsAdapter.MICROMETER);
+        } else {
+            config.withoutDriverMetrics();
+        }
+
+        log.info("Neo4j driver: pool size {}, acquisition timeout {}, connection lifetime {}, liveness check {}, fetch size {}",
+            maxConnectionPoolSize, connectionAcquisitionTimeout, maxConnectionLifetime,
+            idleTimeBeforeConnectionTest.isNegative() ? "off" : idleTimeBeforeConnectionTest, fetchSize);
         return GraphDatabase.driver(
             uri, 
-            AuthTokens.basic(username, password)
+            AuthTokens.basic(username, password),
+            config.build()
         );
     }
 
@@ -34,4 +90,12 @@ public class Neo4jConfiguration extends AbstractNeo4jConfig {
     public Driver driver() {
         return neo4jDriver();
     }
+
+    // Shared by the transaction manager, Neo4jClient and the raw sessions of Neo4jSessionFactory;
+    // bookmarks sent by the client in the Neo4j-Bookmark header are added to every transaction
+    @Bean
+    @Override
+    public Neo4jBookmarkManager bookmarkManager() {
+        return Neo4jBookmarkManager.create(Neo4jBookmarkHeaders::fromCurrentRequest);
+    }
 }
@@ -0,0 +1,107 @@
+package com.mito.graphms.configuration;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Wraps a {@link Driver} so that at most a fixed number of blocking {@link Session}s
+ * are open at the same time. A caller over the limit waits for a permit in a fair
+ * queue; on a virtual thread that wait only parks the thread, so thousands of
+ * concurrent requests cost a few KB each instead of a platform thread. The permit
+ * is released when the session is closed. Async and reactive sessions do not hold
+ * a thread and are not limited.
+ */
+public final class SessionLimitingDriver {
+
+    private SessionLimitingDriver() {
+    }
+
+    /**
+     * @param driver Driver to wrap
+     * @param maxSessions Maximum number of open blocking sessions
+     * @param acquireTimeout Maximum wait for a permit before failing
+     * @return Driver proxy enforcing the limit
+     */
+    public static Driver wrap(Driver driver, int maxSessions, Duration acquireTimeout) {
+        Semaphore permits = new Semaphore(maxSessions, true);
+        return (Driver) Proxy.newProxyInstance(
+            Driver.class.getClassLoader(),
+            new Class<?>[] {Driver.class},
+            new DriverHandler(driver, permits, acquireTimeout)
+        );
+    }
+
+    private record DriverHandler(Driver driver, Semaphore permits, Duration acquireTimeout) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!isBlockingSession(method, args)) {
+                return call(driver, method, args);
+            }
+            try {
+                if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new TransientDataAccessResourceException(
+                        "Timed out after " + acquireTimeout.toMillis() + " ms waiting for a Neo4j session");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TransientDataAccessResourceException("Interrupted while waiting for a Neo4j session", e);
+            }
+            try {
+                Session session = (Session) call(driver, method, args);
+                return Proxy.newProxyInstance(
+                    Session.class.getClassLoader(),
+                    new Class<?>[] {Session.class},
+                    new SessionHandler(session, permits, new AtomicBoolean())
+                );
+            } catch (Throwable e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        // session(), session(SessionConfig), session(Session.class, ...); not session(AsyncSession.class, ...)
+        private static boolean isBlockingSession(Method method, Object[] args) {
+            if (!method.getName().equals("session")) {
+                return false;
+            }
+            return args == null || args.length == 0 || !(args[0] instanceof Class<?>) || args[0] == Session.class;
+        }
+    }
+
+    private record SessionHandler(Session session, Semaphore permits, AtomicBoolean closed) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                try {
+                    return call(session, method, args);
+                } finally {
+                    // Closing twice must not hand out a second permit
+                    if (closed.compareAndSet(false, true)) {
+                        permits.release();
+                    }
+                }
+            }
+            return call(session, method, args);
+        }
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.mito.graphms.configuration;
+
+import org.neo4j.driver.Driver;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual thread execution mode, enabled with {@code mito.graph.virtual-threads.enabled}:
+ * Tomcat requests and MVC async/streaming work run on virtual threads, and the
+ * blocking Neo4j sessions are bounded by a semaphore so that requests beyond the
+ * driver pool park cheaply instead of failing on connection acquisition.
+ */
+@Configuration
+@ConditionalOnProperty(name = "mito.graph.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    // Replaces the default pool used by MVC for StreamingResponseBody and reactive return values
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean
+    public static BeanPostProcessor sessionLimitingDriverPostProcessor(Environment environment) {
+        int maxSessions = environment.getProperty("mito.graph.virtual-threads.max-concurrent-sessions", Integer.class, 200);
+        Duration acquireTimeout = environment.getProperty(
+            "mito.graph.virtual-threads.session-acquire-timeout", Duration.class, Duration.ofSeconds(30));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                return bean instanceof Driver driver ? SessionLimitingDriver.wrap(driver, maxSessions, acquireTimeout) : bean;
+            }
+        };
+    }
+}
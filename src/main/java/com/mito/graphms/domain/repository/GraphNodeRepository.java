@@ -2,6 +2,8 @@ package com.mito.graphms.domain.repository;
 
 import com.mito.graphms.domain.entity.GraphNode;
 import org.springframework.data.neo4j.repository.Neo4jRepository;
+import org.springframework.data.neo4j.repository.query.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -39,4 +41,51 @@ public interface GraphNodeRepository extends Neo4jRepository<GraphNode, String>
      * @param cbdbId Identificativo CBDB del nodo
      */
     void deleteByCbdbId(String cbdbId);
+
+    /**
+     * Trova una pagina di nodi ordinati per CBDB ID a partire da un cursore (keyset pagination).
+     * Le relazioni non vengono idratate.
+     * 
+     * @param afterCbdbId CBDB ID dell'ultimo nodo della pagina precedente, null per la prima pagina
+     * @param limit Numero massimo di nodi da restituire
+     * @return Lista di nodi ordinata per CBDB ID
+     */
+    @Query("MATCH (n:ITEM) WHERE $afterCbdbId IS NULL OR n.cbdb_id > $afterCbdbId " +
+           "RETURN n ORDER BY n.cbdb_id ASC LIMIT $limit")
+    List<GraphNode> findPageAfterCbdbId(@Param("afterCbdbId") String afterCbdbId, @Param("limit") int limit);
+
+    /**
+     * Trova un nodo per ID interno senza idratare le relazioni
+     * 
+     * @param id Identificativo interno del nodo
+     * @return Optional contenente il nodo se trovato
+     */
+    @Query("MATCH (n:ITEM {id: $id}) RETURN n")
+    Optional<GraphNode> findShallowById(@Param("id") String id);
+
+    /**
+     * Trova un nodo per CBDB ID senza idratare le relazioni
+     * 
+     * @param cbdbId Identificativo CBDB del nodo
+     * @return Optional contenente il nodo se trovato
+     */
+    @Query("MATCH (n:ITEM {cbdb_id: $cbdbId}) RETURN n")
+    Optional<GraphNode> findShallowByCbdbId(@Param("cbdbId") String cbdbId);
+
+    /**
+     * Trova tutti i nodi senza idratare le relazioni
+     * 
+     * @return Lista di tutti i nodi
+     */
+    @Query("MATCH (n:ITEM) RETURN n")
+    List<GraphNode> findAllShallow();
+
+    /**
+     * Trova nodi per tipo di item senza idratare le relazioni
+     * 
+     * @param itemType Tipo di item
+     * @return Lista di nodi corrispondenti
+     */
+    @Query("MATCH (n:ITEM {itemType: $itemType}) RETURN n")
+    List<GraphNode> findShallowByItemType(@Param("itemType") String itemType);
 }
@@ -0,0 +1,94 @@
+package com.mito.graphms.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * DTO summarising the outcome of a bulk write: how many rows were received and
+ * how many ended up created, updated or failed. Error messages are capped so a
+ * badly formed import cannot blow up the response.
+ */
+public class BulkWriteResult {
+
+    private static final int MAX_ERRORS = 100;
+
+    private long received;
+    private long created;
+    private long updated;
+    private long failed;
+    private long batches;
+    private long elapsedMillis;
+    private List<String> errors = new ArrayList<>();
+    private Set<String> missingEndpoints = new LinkedHashSet<>();
+
+    public BulkWriteResult() {
+        // Default constructor
+    }
+
+    public void addReceived(long count) {
+        this.received += count;
+    }
+
+    public void addCreated(long count) {
+        this.created += count;
+    }
+
+    public void addUpdated(long count) {
+        this.updated += count;
+    }
+
+    public void addFailed(long count, String error) {
+        this.failed += count;
+        if (error != null && errors.size() < MAX_ERRORS) {
+            errors.add(error);
+        }
+    }
+
+    public void addMissingEndpoint(String cbdbId) {
+        if (missingEndpoints.size() < MAX_ERRORS) {
+            missingEndpoints.add(cbdbId);
+        }
+    }
+
+    public void addBatch() {
+        this.batches++;
+    }
+
+    public long getReceived() {
+        return received;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public Set<String> getMissingEndpoints() {
+        return missingEndpoints;
+    }
+}
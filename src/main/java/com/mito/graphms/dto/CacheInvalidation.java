@@ -0,0 +1,70 @@
+package com.mito.graphms.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO broadcast between replicas when nodes are written: the keys to evict,
+ * the replica that wrote them and its logical clock at write time, which the
+ * receivers use to order the invalidation against their in-flight cache loads.
+ * {@code all} asks to evict every entry, for writes whose keys are unknown.
+ */
+public class CacheInvalidation {
+
+    private String origin;
+    private long version;
+    private List<String> ids = new ArrayList<>();
+    private List<String> cbdbIds = new ArrayList<>();
+    private boolean all;
+
+    public CacheInvalidation() {
+        // Default constructor
+    }
+
+    public CacheInvalidation(String origin, long version, List<String> ids, List<String> cbdbIds) {
+        this.origin = origin;
+        this.version = version;
+        this.ids = ids;
+        this.cbdbIds = cbdbIds;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+
+    public List<String> getCbdbIds() {
+        return cbdbIds;
+    }
+
+    public void setCbdbIds(List<String> cbdbIds) {
+        this.cbdbIds = cbdbIds;
+    }
+
+    public boolean isAll() {
+        return all;
+    }
+
+    public void setAll(boolean all) {
+        this.all = all;
+    }
+}
@@ -0,0 +1,46 @@
+package com.mito.graphms.dto;
+
+/**
+ * DTO for the increments to apply to the counters of an item; null or zero leaves
+ * a counter untouched, negative values decrement it
+ */
+public class CounterDelta {
+
+    private long numberOfIncidents;
+    private long numberOfEvents;
+    private long numberOfPlanned;
+
+    public CounterDelta() {
+        // Default constructor
+    }
+
+    public CounterDelta(long numberOfIncidents, long numberOfEvents, long numberOfPlanned) {
+        this.numberOfIncidents = numberOfIncidents;
+        this.numberOfEvents = numberOfEvents;
+        this.numberOfPlanned = numberOfPlanned;
+    }
+
+    public long getNumberOfIncidents() {
+        return numberOfIncidents;
+    }
+
+    public void setNumberOfIncidents(Long numberOfIncidents) {
+        this.numberOfIncidents = numberOfIncidents != null ? numberOfIncidents : 0;
+    }
+
+    public long getNumberOfEvents() {
+        return numberOfEvents;
+    }
+
+    public void setNumberOfEvents(Long numberOfEvents) {
+        this.numberOfEvents = numberOfEvents != null ? numberOfEvents : 0;
+    }
+
+    public long getNumberOfPlanned() {
+        return numberOfPlanned;
+    }
+
+    public void setNumberOfPlanned(Long numberOfPlanned) {
+        this.numberOfPlanned = numberOfPlanned != null ? numberOfPlanned : 0;
+    }
+}
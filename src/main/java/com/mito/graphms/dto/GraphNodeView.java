@@ -0,0 +1,153 @@
+package com.mito.graphms.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mito.graphms.domain.entity.GraphNode;
+
+import java.util.List;
+
+/**
+ * Shallow, read-only projection of a GraphNode: node properties only, plus an
+ * optional bounded list of neighbours per direction when a depth is requested.
+ * A node reached more than once is expanded at its first occurrence only; the
+ * other occurrences have no neighbour lists.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GraphNodeView {
+
+    private String id;
+    private String cbdbId;
+    private String name;
+    private String itemType;
+    private String importance;
+    private String status;
+    private boolean link;
+    private String locId;
+    private Double locationLon;
+    private Double locationLat;
+    private String itemIcon;
+    private String statusDetail;
+    private Integer numberOfIncidents;
+    private Integer numberOfEvents;
+    private Integer numberOfPlanned;
+
+    private List<NeighbourView> outgoing;
+    private List<NeighbourView> incoming;
+    private Boolean truncated;
+
+    public GraphNodeView() {
+        // Default constructor
+    }
+
+    /**
+     * Build a view from the scalar properties of a node, ignoring its relationship sets
+     * 
+     * @param node Source node
+     * @return Shallow view of the node
+     */
+    public static GraphNodeView of(GraphNode node) {
+        GraphNodeView view = new GraphNodeView();
+        view.id = node.getId();
+        view.cbdbId = node.getCbdbId();
+        view.name = node.getName();
+        view.itemType = node.getItemType();
+        view.importance = node.getImportance();
+        view.status = node.getStatus();
+        view.link = node.isLink();
+        view.locId = node.getLocId();
+        view.locationLon = node.getLocationLon();
+        view.locationLat = node.getLocationLat();
+        view.itemIcon = node.getItemIcon();
+        view.statusDetail = node.getStatusDetail();
+        view.numberOfIncidents = node.getNumberOfIncidents();
+        view.numberOfEvents = node.getNumberOfEvents();
+        view.numberOfPlanned = node.getNumberOfPlanned();
+        return view;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getCbdbId() {
+        return cbdbId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getItemType() {
+        return itemType;
+    }
+
+    public String getImportance() {
+        return importance;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public boolean isLink() {
+        return link;
+    }
+
+    public String getLocId() {
+        return locId;
+    }
+
+    public Double getLocationLon() {
+        return locationLon;
+    }
+
+    public Double getLocationLat() {
+        return locationLat;
+    }
+
+    public String getItemIcon() {
+        return itemIcon;
+    }
+
+    public String getStatusDetail() {
+        return statusDetail;
+    }
+
+    public Integer getNumberOfIncidents() {
+        return numberOfIncidents;
+    }
+
+    public Integer getNumberOfEvents() {
+        return numberOfEvents;
+    }
+
+    public Integer getNumberOfPlanned() {
+        return numberOfPlanned;
+    }
+
+    public List<NeighbourView> getOutgoing() {
+        return outgoing;
+    }
+
+    public void setOutgoing(List<NeighbourView> outgoing) {
+        this.outgoing = outgoing;
+    }
+
+    public List<NeighbourView> getIncoming() {
+        return incoming;
+    }
+
+    public void setIncoming(List<NeighbourView> incoming) {
+        this.incoming = incoming;
+    }
+
+    /**
+     * @return true on the root view when the node cap cut the expansion short, null otherwise
+     */
+    public Boolean getTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(Boolean truncated) {
+        this.truncated = truncated;
+    }
+}
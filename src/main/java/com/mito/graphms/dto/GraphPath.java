@@ -0,0 +1,42 @@
+package com.mito.graphms.dto;
+
+import java.util.List;
+
+/**
+ * DTO for a path between two items: the CBDB IDs of the items in walk order and
+ * the relationships between consecutive items.
+ */
+public class GraphPath {
+
+    private List<String> cbdbIds;
+    private List<PathStep> relationships;
+    private int length;
+    private double cost;
+
+    public GraphPath() {
+        // Default constructor
+    }
+
+    public GraphPath(List<String> cbdbIds, List<PathStep> relationships, double cost) {
+        this.cbdbIds = cbdbIds;
+        this.relationships = relationships;
+        this.length = relationships.size();
+        this.cost = cost;
+    }
+
+    public List<String> getCbdbIds() {
+        return cbdbIds;
+    }
+
+    public List<PathStep> getRelationships() {
+        return relationships;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public double getCost() {
+        return cost;
+    }
+}
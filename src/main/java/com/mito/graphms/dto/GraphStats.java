@@ -0,0 +1,119 @@
+package com.mito.graphms.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * DTO for the aggregate item counters of the overview dashboard. Items without a
+ * value for a dimension are counted under {@code "(unset)"}.
+ */
+public class GraphStats {
+
+    private long totalNodes;
+    private Map<String, Long> byItemType;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byImportance;
+    private Map<String, Long> byLocId;
+    private long numberOfIncidents;
+    private long numberOfEvents;
+    private long numberOfPlanned;
+    private Instant reconciledAt;
+
+    public GraphStats() {
+        // Default constructor
+    }
+
+    public GraphStats(
+        long totalNodes,
+        Map<String, Long> byItemType,
+        Map<String, Long> byStatus,
+        Map<String, Long> byImportance,
+        Map<String, Long> byLocId,
+        long numberOfIncidents,
+        long numberOfEvents,
+        long numberOfPlanned,
+        Instant reconciledAt
+    ) {
+        this.totalNodes = totalNodes;
+        this.byItemType = byItemType;
+        this.byStatus = byStatus;
+        this.byImportance = byImportance;
+        this.byLocId = byLocId;
+        this.numberOfIncidents = numberOfIncidents;
+        this.numberOfEvents = numberOfEvents;
+        this.numberOfPlanned = numberOfPlanned;
+        this.reconciledAt = reconciledAt;
+    }
+
+    public long getTotalNodes() {
+        return totalNodes;
+    }
+
+    public void setTotalNodes(long totalNodes) {
+        this.totalNodes = totalNodes;
+    }
+
+    public Map<String, Long> getByItemType() {
+        return byItemType;
+    }
+
+    public void setByItemType(Map<String, Long> byItemType) {
+        this.byItemType = byItemType;
+    }
+
+    public Map<String, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<String, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public Map<String, Long> getByImportance() {
+        return byImportance;
+    }
+
+    public void setByImportance(Map<String, Long> byImportance) {
+        this.byImportance = byImportance;
+    }
+
+    public Map<String, Long> getByLocId() {
+        return byLocId;
+    }
+
+    public void setByLocId(Map<String, Long> byLocId) {
+        this.byLocId = byLocId;
+    }
+
+    public long getNumberOfIncidents() {
+        return numberOfIncidents;
+    }
+
+    public void setNumberOfIncidents(long numberOfIncidents) {
+        this.numberOfIncidents = numberOfIncidents;
+    }
+
+    public long getNumberOfEvents() {
+        return numberOfEvents;
+    }
+
+    public void setNumberOfEvents(long numberOfEvents) {
+        this.numberOfEvents = numberOfEvents;
+    }
+
+    public long getNumberOfPlanned() {
+        return numberOfPlanned;
+    }
+
+    public void setNumberOfPlanned(long numberOfPlanned) {
+        this.numberOfPlanned = numberOfPlanned;
+    }
+
+    public Instant getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public void setReconciledAt(Instant reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+}
@@ -0,0 +1,110 @@
+package com.mito.graphms.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * DTO summarising an impact analysis: affected items aggregated by item type and
+ * importance. {@code items} is only filled by the non-streaming endpoint.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImpactReport {
+
+    private List<String> failedCbdbIds;
+    private long affectedCount;
+    private int depthReached;
+    private boolean truncated;
+    private long elapsedMillis;
+    private Map<String, Aggregate> byItemType = new TreeMap<>();
+    private Map<String, Aggregate> byImportance = new TreeMap<>();
+    private List<ImpactedItem> items;
+
+    public ImpactReport() {
+        // Default constructor
+    }
+
+    public ImpactReport(List<String> failedCbdbIds) {
+        this.failedCbdbIds = failedCbdbIds;
+    }
+
+    /**
+     * Account an affected item in the aggregates
+     *
+     * @param item Affected item
+     */
+    public void add(ImpactedItem item) {
+        affectedCount++;
+        depthReached = Math.max(depthReached, item.getDepth());
+        byItemType.computeIfAbsent(String.valueOf(item.getItemType()), key -> new Aggregate()).add(item.getScore());
+        byImportance.computeIfAbsent(String.valueOf(item.getImportance()), key -> new Aggregate()).add(item.getScore());
+    }
+
+    public List<String> getFailedCbdbIds() {
+        return failedCbdbIds;
+    }
+
+    public long getAffectedCount() {
+        return affectedCount;
+    }
+
+    public int getDepthReached() {
+        return depthReached;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Map<String, Aggregate> getByItemType() {
+        return byItemType;
+    }
+
+    public Map<String, Aggregate> getByImportance() {
+        return byImportance;
+    }
+
+    public List<ImpactedItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ImpactedItem> items) {
+        this.items = items;
+    }
+
+    /**
+     * Count and summed impact score of a group of affected items
+     */
+    public static class Aggregate {
+
+        private long count;
+        private double score;
+
+        void add(double itemScore) {
+            count++;
+            score += itemScore;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+}
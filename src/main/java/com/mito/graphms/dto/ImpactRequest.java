@@ -0,0 +1,51 @@
+package com.mito.graphms.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for an impact analysis request: the failed items and how far to propagate
+ */
+public class ImpactRequest {
+
+    private List<String> failedCbdbIds = new ArrayList<>();
+    private Integer maxDepth;
+    private List<String> types;
+    private TraversalDirection direction = TraversalDirection.OUTGOING;
+
+    public ImpactRequest() {
+        // Default constructor
+    }
+
+    public List<String> getFailedCbdbIds() {
+        return failedCbdbIds;
+    }
+
+    public void setFailedCbdbIds(List<String> failedCbdbIds) {
+        this.failedCbdbIds = failedCbdbIds;
+    }
+
+    public Integer getMaxDepth() {
+        return maxDepth;
+    }
+
+    public void setMaxDepth(Integer maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    public List<String> getTypes() {
+        return types;
+    }
+
+    public void setTypes(List<String> types) {
+        this.types = types;
+    }
+
+    public TraversalDirection getDirection() {
+        return direction;
+    }
+
+    public void setDirection(TraversalDirection direction) {
+        this.direction = direction;
+    }
+}
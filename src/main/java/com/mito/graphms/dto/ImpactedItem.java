@@ -0,0 +1,73 @@
+package com.mito.graphms.dto;
+
+/**
+ * DTO for an item reached by an impact analysis: the hop at which it was reached,
+ * the item it was reached from and its propagated impact score.
+ */
+public class ImpactedItem {
+
+    private String cbdbId;
+    private String name;
+    private String itemType;
+    private String importance;
+    private String status;
+    private int depth;
+    private String viaCbdbId;
+    private double score;
+
+    public ImpactedItem() {
+        // Default constructor
+    }
+
+    public ImpactedItem(
+        String cbdbId,
+        String name,
+        String itemType,
+        String importance,
+        String status,
+        int depth,
+        String viaCbdbId,
+        double score
+    ) {
+        this.cbdbId = cbdbId;
+        this.name = name;
+        this.itemType = itemType;
+        this.importance = importance;
+        this.status = status;
+        this.depth = depth;
+        this.viaCbdbId = viaCbdbId;
+        this.score = score;
+    }
+
+    public String getCbdbId() {
+        return cbdbId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getItemType() {
+        return itemType;
+    }
+
+    public String getImportance() {
+        return importance;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public String getViaCbdbId() {
+        return viaCbdbId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
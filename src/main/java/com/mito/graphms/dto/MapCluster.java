@@ -0,0 +1,77 @@
+package com.mito.graphms.dto;
+
+/**
+ * DTO for a cell of the map clustering grid: the number of items located in the
+ * cell and their centroid. A cell holding a single item also carries its CBDB ID,
+ * so the client can draw it as a plain marker.
+ */
+public class MapCluster {
+
+    private long cellX;
+    private long cellY;
+    private long count;
+    private double latitude;
+    private double longitude;
+    private String cbdbId;
+
+    public MapCluster() {
+        // Default constructor
+    }
+
+    public MapCluster(long cellX, long cellY, long count, double latitude, double longitude, String cbdbId) {
+        this.cellX = cellX;
+        this.cellY = cellY;
+        this.count = count;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.cbdbId = cbdbId;
+    }
+
+    public long getCellX() {
+        return cellX;
+    }
+
+    public void setCellX(long cellX) {
+        this.cellX = cellX;
+    }
+
+    public long getCellY() {
+        return cellY;
+    }
+
+    public void setCellY(long cellY) {
+        this.cellY = cellY;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+
+    public String getCbdbId() {
+        return cbdbId;
+    }
+
+    public void setCbdbId(String cbdbId) {
+        this.cbdbId = cbdbId;
+    }
+}
@@ -0,0 +1,44 @@
+package com.mito.graphms.dto;
+
+import com.mito.graphms.domain.entity.GraphRelationship;
+
+import java.util.Map;
+
+/**
+ * A relationship seen from one of its endpoints, together with the shallow view
+ * of the node on the other side.
+ */
+public class NeighbourView {
+
+    private Long relationshipId;
+    private String type;
+    private Map<String, Object> properties;
+    private GraphNodeView node;
+
+    public NeighbourView() {
+        // Default constructor
+    }
+
+    public NeighbourView(GraphRelationship relationship, GraphNodeView node) {
+        this.relationshipId = relationship.getId();
+        this.type = relationship.getType();
+        this.properties = relationship.getProperties();
+        this.node = node;
+    }
+
+    public Long getRelationshipId() {
+        return relationshipId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Map<String, Object> getProperties() {
+        return properties;
+    }
+
+    public GraphNodeView getNode() {
+        return node;
+    }
+}
@@ -0,0 +1,45 @@
+package com.mito.graphms.dto;
+
+/**
+ * DTO for an item on a path, listed once per path result
+ */
+public class PathNode {
+
+    private String cbdbId;
+    private String name;
+    private String itemType;
+    private String importance;
+    private String status;
+
+    public PathNode() {
+        // Default constructor
+    }
+
+    public PathNode(String cbdbId, String name, String itemType, String importance, String status) {
+        this.cbdbId = cbdbId;
+        this.name = name;
+        this.itemType = itemType;
+        this.importance = importance;
+        this.status = status;
+    }
+
+    public String getCbdbId() {
+        return cbdbId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getItemType() {
+        return itemType;
+    }
+
+    public String getImportance() {
+        return importance;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+}
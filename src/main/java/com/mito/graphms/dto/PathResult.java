@@ -0,0 +1,61 @@
+package com.mito.graphms.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the paths found between two items, shortest first. {@code truncated}
+ * is set when the time budget ran out before all requested paths were found.
+ */
+public class PathResult {
+
+    private String from;
+    private String to;
+    private List<GraphPath> paths = new ArrayList<>();
+    private Map<String, PathNode> nodes = new LinkedHashMap<>();
+    private boolean truncated;
+    private long elapsedMillis;
+
+    public PathResult() {
+        // Default constructor
+    }
+
+    public PathResult(String from, String to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public List<GraphPath> getPaths() {
+        return paths;
+    }
+
+    public Map<String, PathNode> getNodes() {
+        return nodes;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+}
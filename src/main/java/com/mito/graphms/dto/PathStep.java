@@ -0,0 +1,40 @@
+package com.mito.graphms.dto;
+
+/**
+ * DTO for one relationship of a path, in its stored direction, which may be
+ * opposite to the direction the path walks it in.
+ */
+public class PathStep {
+
+    private String sourceCbdbId;
+    private String targetCbdbId;
+    private String type;
+    private Double weight;
+
+    public PathStep() {
+        // Default constructor
+    }
+
+    public PathStep(String sourceCbdbId, String targetCbdbId, String type, Double weight) {
+        this.sourceCbdbId = sourceCbdbId;
+        this.targetCbdbId = targetCbdbId;
+        this.type = type;
+        this.weight = weight;
+    }
+
+    public String getSourceCbdbId() {
+        return sourceCbdbId;
+    }
+
+    public String getTargetCbdbId() {
+        return targetCbdbId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Double getWeight() {
+        return weight;
+    }
+}
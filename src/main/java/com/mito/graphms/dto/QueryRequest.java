@@ -10,6 +10,9 @@ public class QueryRequest {
     
     private String query;
     private Map<String, Object> parameters = new HashMap<>();
+    private Long timeoutMs;
+    private Long maxRows;
+    private Long cacheTtlMs;
     
     public QueryRequest() {
         // Default constructor
@@ -43,4 +46,38 @@ public class QueryRequest {
     public void addParameter(String key, Object value) {
         this.parameters.put(key, value);
     }
+
+    /**
+     * @return Transaction timeout requested by the client, null for the configured default
+     */
+    public Long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public void setTimeoutMs(Long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * @return Row limit requested by the client, null for the configured default
+     */
+    public Long getMaxRows() {
+        return maxRows;
+    }
+
+    public void setMaxRows(Long maxRows) {
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * @return How long the result may be served from the cache, null for the
+     *         configured default, 0 to bypass the cache
+     */
+    public Long getCacheTtlMs() {
+        return cacheTtlMs;
+    }
+
+    public void setCacheTtlMs(Long cacheTtlMs) {
+        this.cacheTtlMs = cacheTtlMs;
+    }
 }
\ No newline at end of file
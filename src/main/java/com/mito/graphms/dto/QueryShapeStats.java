@@ -0,0 +1,66 @@
+package com.mito.graphms.dto;
+
+import java.time.Instant;
+
+/**
+ * DTO for the usage statistics of a normalised custom query shape
+ */
+public class QueryShapeStats {
+
+    private String shape;
+    private long executions;
+    private long inlineLiteralExecutions;
+    private double totalMillis;
+    private double averageMillis;
+    private double maxMillis;
+    private Instant lastExecutedAt;
+
+    public QueryShapeStats() {
+        // Default constructor
+    }
+
+    public QueryShapeStats(
+        String shape,
+        long executions,
+        long inlineLiteralExecutions,
+        double totalMillis,
+        double maxMillis,
+        Instant lastExecutedAt
+    ) {
+        this.shape = shape;
+        this.executions = executions;
+        this.inlineLiteralExecutions = inlineLiteralExecutions;
+        this.totalMillis = totalMillis;
+        this.averageMillis = executions > 0 ? totalMillis / executions : 0;
+        this.maxMillis = maxMillis;
+        this.lastExecutedAt = lastExecutedAt;
+    }
+
+    public String getShape() {
+        return shape;
+    }
+
+    public long getExecutions() {
+        return executions;
+    }
+
+    public long getInlineLiteralExecutions() {
+        return inlineLiteralExecutions;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public double getAverageMillis() {
+        return averageMillis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public Instant getLastExecutedAt() {
+        return lastExecutedAt;
+    }
+}
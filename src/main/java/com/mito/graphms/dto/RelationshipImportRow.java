@@ -0,0 +1,57 @@
+package com.mito.graphms.dto;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DTO for one relationship of a bulk import, identified by the CBDB IDs of its endpoints
+ */
+public class RelationshipImportRow {
+
+    private String sourceCbdbId;
+    private String targetCbdbId;
+    private String type;
+    private Map<String, Object> properties = new HashMap<>();
+
+    public RelationshipImportRow() {
+        // Default constructor
+    }
+
+    public RelationshipImportRow(String sourceCbdbId, String targetCbdbId, String type) {
+        this.sourceCbdbId = sourceCbdbId;
+        this.targetCbdbId = targetCbdbId;
+        this.type = type;
+    }
+
+    public String getSourceCbdbId() {
+        return sourceCbdbId;
+    }
+
+    public void setSourceCbdbId(String sourceCbdbId) {
+        this.sourceCbdbId = sourceCbdbId;
+    }
+
+    public String getTargetCbdbId() {
+        return targetCbdbId;
+    }
+
+    public void setTargetCbdbId(String targetCbdbId) {
+        this.targetCbdbId = targetCbdbId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Map<String, Object> getProperties() {
+        return properties;
+    }
+
+    public void setProperties(Map<String, Object> properties) {
+        this.properties = properties;
+    }
+}
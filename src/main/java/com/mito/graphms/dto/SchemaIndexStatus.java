@@ -0,0 +1,107 @@
+package com.mito.graphms.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the state of an index of the {@code ITEM} schema, as reported by
+ * {@code SHOW INDEXES}, or of a declared index that could not be created
+ */
+public class SchemaIndexStatus {
+
+    private String name;
+    private String type;
+    private List<String> properties;
+    private String state;
+    private double populationPercent;
+    private String owningConstraint;
+    private boolean declared;
+    private String error;
+
+    public SchemaIndexStatus() {
+        // Default constructor
+    }
+
+    public SchemaIndexStatus(
+        String name,
+        String type,
+        List<String> properties,
+        String state,
+        double populationPercent,
+        String owningConstraint,
+        boolean declared,
+        String error
+    ) {
+        this.name = name;
+        this.type = type;
+        this.properties = properties;
+        this.state = state;
+        this.populationPercent = populationPercent;
+        this.owningConstraint = owningConstraint;
+        this.declared = declared;
+        this.error = error;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public List<String> getProperties() {
+        return properties;
+    }
+
+    public void setProperties(List<String> properties) {
+        this.properties = properties;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public double getPopulationPercent() {
+        return populationPercent;
+    }
+
+    public void setPopulationPercent(double populationPercent) {
+        this.populationPercent = populationPercent;
+    }
+
+    public String getOwningConstraint() {
+        return owningConstraint;
+    }
+
+    public void setOwningConstraint(String owningConstraint) {
+        this.owningConstraint = owningConstraint;
+    }
+
+    public boolean isDeclared() {
+        return declared;
+    }
+
+    public void setDeclared(boolean declared) {
+        this.declared = declared;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
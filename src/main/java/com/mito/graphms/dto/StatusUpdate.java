@@ -0,0 +1,46 @@
+package com.mito.graphms.dto;
+
+/**
+ * DTO for an asynchronous status change of an item. A null field leaves the
+ * corresponding property untouched.
+ */
+public class StatusUpdate {
+
+    private String cbdbId;
+    private String status;
+    private String statusDetail;
+
+    public StatusUpdate() {
+        // Default constructor
+    }
+
+    public StatusUpdate(String cbdbId, String status, String statusDetail) {
+        this.cbdbId = cbdbId;
+        this.status = status;
+        this.statusDetail = statusDetail;
+    }
+
+    public String getCbdbId() {
+        return cbdbId;
+    }
+
+    public void setCbdbId(String cbdbId) {
+        this.cbdbId = cbdbId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getStatusDetail() {
+        return statusDetail;
+    }
+
+    public void setStatusDetail(String statusDetail) {
+        this.statusDetail = statusDetail;
+    }
+}
@@ -0,0 +1,50 @@
+package com.mito.graphms.dto;
+
+import com.mito.graphms.domain.entity.GraphRelationship;
+
+import java.util.Map;
+
+/**
+ * Compact relationship of a subgraph payload: endpoints are referenced by CBDB ID,
+ * the node data itself is listed once in the enclosing subgraph.
+ */
+public class SubgraphEdge {
+
+    private Long id;
+    private String type;
+    private String sourceCbdbId;
+    private String targetCbdbId;
+    private Map<String, Object> properties;
+
+    public SubgraphEdge() {
+        // Default constructor
+    }
+
+    public SubgraphEdge(GraphRelationship relationship, String sourceCbdbId, String targetCbdbId) {
+        this.id = relationship.getId();
+        this.type = relationship.getType();
+        this.sourceCbdbId = sourceCbdbId;
+        this.targetCbdbId = targetCbdbId;
+        this.properties = relationship.getProperties();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getSourceCbdbId() {
+        return sourceCbdbId;
+    }
+
+    public String getTargetCbdbId() {
+        return targetCbdbId;
+    }
+
+    public Map<String, Object> getProperties() {
+        return properties;
+    }
+}
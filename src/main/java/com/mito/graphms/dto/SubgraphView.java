@@ -0,0 +1,54 @@
+package com.mito.graphms.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for a bounded subgraph: de-duplicated nodes plus the edges between them.
+ * {@code truncated} is set when a server-side node or edge cap was hit; {@code depth}
+ * is the number of hops that are fully included.
+ */
+public class SubgraphView {
+
+    private String rootCbdbId;
+    private List<GraphNodeView> nodes = new ArrayList<>();
+    private List<SubgraphEdge> edges = new ArrayList<>();
+    private boolean truncated;
+    private int depth;
+
+    public SubgraphView() {
+        // Default constructor
+    }
+
+    public SubgraphView(String rootCbdbId) {
+        this.rootCbdbId = rootCbdbId;
+    }
+
+    public String getRootCbdbId() {
+        return rootCbdbId;
+    }
+
+    public List<GraphNodeView> getNodes() {
+        return nodes;
+    }
+
+    public List<SubgraphEdge> getEdges() {
+        return edges;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+}
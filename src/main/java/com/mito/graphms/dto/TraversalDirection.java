@@ -0,0 +1,29 @@
+package com.mito.graphms.dto;
+
+/**
+ * Direction in which relationships are followed by the traversal endpoints
+ */
+public enum TraversalDirection {
+
+    OUTGOING("-", "->"),
+    INCOMING("<-", "-"),
+    BOTH("-", "-");
+
+    private final String left;
+    private final String right;
+
+    TraversalDirection(String left, String right) {
+        this.left = left;
+        this.right = right;
+    }
+
+    /**
+     * Cypher relationship pattern for this direction
+     *
+     * @param relationship Relationship part of the pattern, e.g. {@code [*1..3]}
+     * @return Pattern such as {@code -[*1..3]->}
+     */
+    public String pattern(String relationship) {
+        return left + relationship + right;
+    }
+}
@@ -0,0 +1,27 @@
+package com.mito.graphms.entity.service;
+
+import com.mito.graphms.dto.CacheInvalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport used to tell the other replicas which cached keys a write touched.
+ * Implementations deliver on a best-effort basis; the cache TTL bounds staleness
+ * when a message is lost.
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Broadcast an invalidation to every subscriber, possibly including this replica
+     *
+     * @param invalidation Keys to evict
+     */
+    void publish(CacheInvalidation invalidation);
+
+    /**
+     * Register a listener for invalidations
+     *
+     * @param listener Callback invoked for every received invalidation
+     */
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
@@ -0,0 +1,16 @@
+package com.mito.graphms.entity.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Too many items have combined counter increments waiting for a flush: the writer
+ * is behind, the client should retry later
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class CounterBufferFullException extends RuntimeException {
+
+    public CounterBufferFullException(String message) {
+        super(message);
+    }
+}
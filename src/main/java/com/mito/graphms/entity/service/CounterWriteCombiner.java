@@ -0,0 +1,180 @@
+package com.mito.graphms.entity.service;
+
+import com.mito.graphms.dto.CounterDelta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-side write combining for counter increments, enabled with
+ * {@code mito.graph.counters.combine.enabled}: increments are summed per item in
+ * memory and written every flush interval with one UNWIND statement per batch, so
+ * a burst of incident feeds hitting the same item costs one write instead of one
+ * per feed. Accepted increments are not durable until flushed; a failed flush puts
+ * them back for the next one, and pending increments are flushed on shutdown.
+ * <p>
+ * Once {@code max-pending-items} items are waiting, a flush is started right away
+ * and increments for further items are rejected ({@link CounterBufferFullException},
+ * 429) until it catches up, so a slow or unavailable database cannot grow the
+ * buffer without bound; items already waiting keep combining.
+ */
+@Component
+public class CounterWriteCombiner implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CounterWriteCombiner.class);
+
+    private final Neo4jDataService neo4jDataService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxPendingItems;
+    private final Counter combined;
+    private final Timer flushTimer;
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler;
+
+    @Autowired
+    public CounterWriteCombiner(
+        Neo4jDataService neo4jDataService,
+        MeterRegistry meterRegistry,
+        @Value("${mito.graph.counters.combine.enabled:false}") boolean enabled,
+        @Value("${mito.graph.counters.combine.flush-interval:200ms}") Duration flushInterval,
+        @Value("${mito.graph.counters.combine.batch-size:1000}") int batchSize,
+        @Value("${mito.graph.counters.combine.max-pending-items:100000}") int maxPendingItems
+    ) {
+        this.neo4jDataService = neo4jDataService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxPendingItems = maxPendingItems;
+        this.combined = Counter.builder("graph.counters.combined").register(meterRegistry);
+        this.flushTimer = Timer.builder("graph.counters.flush").register(meterRegistry);
+        Gauge.builder("graph.counters.pending", pending, Map::size).register(meterRegistry);
+        if (enabled) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "graph-counters");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * @return Whether increments are combined, i.e. {@link #add} may be used
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue increments for the next flush. Unknown CBDB IDs are dropped at flush time.
+     *
+     * @param cbdbId CBDB ID of the node
+     * @param delta Increments to apply
+     * @throws CounterBufferFullException if the node has no pending increments and the buffer is full
+     */
+    public void add(String cbdbId, CounterDelta delta) {
+        try {
+            pending.compute(cbdbId, (key, current) -> {
+                if (current == null) {
+                    if (pending.size() >= maxPendingItems) {
+                        throw new CounterBufferFullException(
+                            "Counter buffer full (" + maxPendingItems + " items pending), retry later");
+                    }
+                    return new Pending(delta.getNumberOfIncidents(), delta.getNumberOfEvents(), delta.getNumberOfPlanned());
+                }
+                combined.increment();
+                current.add(delta.getNumberOfIncidents(), delta.getNumberOfEvents(), delta.getNumberOfPlanned());
+                return current;
+            });
+        } finally {
+            if (pending.size() >= maxPendingItems && !scheduler.isShutdown() && flushQueued.compareAndSet(false, true)) {
+                scheduler.execute(this::flush);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            flush();
+        }
+    }
+
+    private synchronized void flush() {
+        flushQueued.set(false);
+        if (pending.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<String> cbdbIds = new ArrayList<>(pending.keySet());
+        for (int from = 0; from < cbdbIds.size(); from += batchSize) {
+            // Taken out atomically: increments arriving from now on start a new entry
+            Map<String, CounterDelta> batch = new LinkedHashMap<>();
+            for (String cbdbId : cbdbIds.subList(from, Math.min(from + batchSize, cbdbIds.size()))) {
+                Pending taken = pending.remove(cbdbId);
+                if (taken != null) {
+                    batch.put(cbdbId, new CounterDelta(taken.incidents, taken.events, taken.planned));
+                }
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                neo4jDataService.incrementCounters(batch);
+            } catch (RuntimeException e) {
+                log.warn("Counter flush of {} items failed, retrying at the next flush", batch.size(), e);
+                batch.forEach((cbdbId, delta) -> pending.merge(
+                    cbdbId,
+                    new Pending(delta.getNumberOfIncidents(), delta.getNumberOfEvents(), delta.getNumberOfPlanned()),
+                    (current, failed) -> {
+                        current.add(failed.incidents, failed.events, failed.planned);
+                        return current;
+                    }
+                ));
+            }
+        }
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    // Only touched inside ConcurrentHashMap.compute/merge, which serialise updates of a key
+    private static final class Pending {
+
+        private long incidents;
+        private long events;
+        private long planned;
+
+        private Pending(long incidents, long events, long planned) {
+            this.incidents = incidents;
+            this.events = events;
+            this.planned = planned;
+        }
+
+        private void add(long incidents, long events, long planned) {
+            this.incidents += incidents;
+            this.events += events;
+            this.planned += planned;
+        }
+    }
+}
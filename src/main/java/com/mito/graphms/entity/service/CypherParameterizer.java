@@ -0,0 +1,387 @@
+package com.mito.graphms.entity.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites a Cypher statement into its normalised shape: string and number literals
+ * are moved into parameters, comments are dropped and whitespace is collapsed, so
+ * that statements differing only in their literal values share one entry in the
+ * Neo4j query plan cache.
+ * <p>
+ * Literals that Cypher does not accept as parameters are left in place: bounds of
+ * variable length relationships ({@code [:R*1..3]}) and quantified path patterns
+ * ({@code {1,3}}), batch sizes of {@code IN TRANSACTIONS OF n ROWS}, the
+ * {@code FIELDTERMINATOR} of {@code LOAD CSV} and the whole text of schema and
+ * administration commands. Booleans and {@code null} are left in place too, they
+ * rarely vary and can change the plan. Text that cannot be tokenised (an unterminated
+ * string, for instance) is returned unchanged and left to the server to report.
+ */
+public final class CypherParameterizer {
+
+    private static final Pattern ADMINISTRATION_COMMAND = Pattern.compile(
+        "^\\s*(?:(?:EXPLAIN|PROFILE)\\s+)?(?:CREATE\\s+(?:OR\\s+REPLACE\\s+)?" +
+        "(?:(?:RANGE|TEXT|POINT|FULLTEXT|LOOKUP|BTREE|VECTOR|COMPOSITE)\\s+)?" +
+        "(?:INDEX|CONSTRAINT|DATABASE|ALIAS|USER|ROLE)|DROP|SHOW|ALTER|GRANT|DENY|REVOKE|" +
+        "START|STOP|ENABLE|TERMINATE|RENAME)\\b",
+        Pattern.CASE_INSENSITIVE
+    );
+
+    private CypherParameterizer() {
+    }
+
+    /**
+     * @param query Cypher statement as sent by the client
+     * @param parameters Parameters sent with the statement, their names are never reused
+     * @return Normalised statement with the extracted literals added to the parameters
+     */
+    public static Result parameterize(String query, Map<String, Object> parameters) {
+        Map<String, Object> merged = new LinkedHashMap<>(parameters != null ? parameters : Map.of());
+        if (query == null || ADMINISTRATION_COMMAND.matcher(query).find()) {
+            return new Result(query, merged, 0);
+        }
+        try {
+            return new Tokenizer(query, merged).rewrite();
+        } catch (IllegalStateException e) {
+            return new Result(query, merged, 0);
+        }
+    }
+
+    /**
+     * @param query Normalised statement
+     * @param parameters Client parameters plus the extracted literals
+     * @param literals Number of literals moved into parameters
+     */
+    public record Result(String query, Map<String, Object> parameters, int literals) {
+    }
+
+    private static final class Tokenizer {
+
+        private final String text;
+        private final Map<String, Object> parameters;
+        private final Set<String> usedNames;
+        private final StringBuilder out;
+        // One entry per open '[': true when it opens a relationship pattern
+        private final Deque<Boolean> brackets = new ArrayDeque<>();
+        // One entry per open '{': true when it opens a path pattern quantifier
+        private final Deque<Boolean> braces = new ArrayDeque<>();
+        private int pos;
+        private int literals;
+        private int nextName;
+        private boolean inRange;
+
+        Tokenizer(String text, Map<String, Object> parameters) {
+            this.text = text;
+            this.parameters = parameters;
+            this.usedNames = new HashSet<>(parameters.keySet());
+            this.out = new StringBuilder(text.length());
+        }
+
+        Result rewrite() {
+            collectParameterNames();
+            pos = 0;
+            while (pos < text.length()) {
+                char c = text.charAt(pos);
+                if (Character.isWhitespace(c)) {
+                    skipWhitespace();
+                } else if (c == '/' && peek(1) == '/') {
+                    skipLineComment();
+                } else if (c == '/' && peek(1) == '*') {
+                    skipBlockComment();
+                } else if (c == '\'' || c == '"') {
+                    int start = pos;
+                    String value = readString(c);
+                    emitLiteral(value, start);
+                } else if (c == '`') {
+                    copy(pos, readQuoted('`'));
+                } else if (c == '$') {
+                    copy(pos, readParameter());
+                } else if (Character.isDigit(c) || (c == '.' && Character.isDigit(peek(1)) && startsOperand(previous()))) {
+                    int start = pos;
+                    Object value = readNumber();
+                    emitLiteral(value, start);
+                } else if (isWordStart(c)) {
+                    int end = wordEnd(pos);
+                    out.append(text, pos, end);
+                    pos = end;
+                } else {
+                    punctuation(c);
+                }
+            }
+            return new Result(out.toString().strip(), parameters, literals);
+        }
+
+        private void collectParameterNames() {
+            // Names of parameters already in the text, whether or not a value was sent
+            pos = 0;
+            while (pos < text.length()) {
+                char c = text.charAt(pos);
+                if (c == '\'' || c == '"') {
+                    readString(c);
+                } else if (c == '`') {
+                    pos = readQuoted('`');
+                } else if (c == '/' && peek(1) == '/') {
+                    skipLineComment();
+                } else if (c == '/' && peek(1) == '*') {
+                    skipBlockComment();
+                } else if (c == '$') {
+                    int start = pos + 1;
+                    pos = readParameter();
+                    String name = text.substring(start, pos);
+                    usedNames.add(name.startsWith("`") ? name.substring(1, name.length() - 1) : name);
+                } else {
+                    pos++;
+                }
+            }
+        }
+
+        private void punctuation(char c) {
+            if (c == '[') {
+                brackets.push(previous() == '-');
+            } else if (c == ']') {
+                if (!brackets.isEmpty()) {
+                    brackets.pop();
+                }
+                inRange = false;
+            } else if (c == '*' && !brackets.isEmpty() && brackets.peek()) {
+                inRange = true;
+            } else if (c == '{') {
+                braces.push(previous() == ')');
+                inRange = false;
+            } else if (c == '}') {
+                if (!braces.isEmpty()) {
+                    braces.pop();
+                }
+                inRange = false;
+            } else if (c == '(' || c == ')') {
+                inRange = false;
+            }
+            out.append(c);
+            pos++;
+        }
+
+        private void emitLiteral(Object value, int start) {
+            if (value == null || literalRequired()) {
+                copy(start, pos);
+                return;
+            }
+            String name;
+            do {
+                name = "p" + nextName++;
+            } while (usedNames.contains(name));
+            usedNames.add(name);
+            parameters.put(name, value);
+            literals++;
+            out.append('$').append(name);
+        }
+
+        private boolean literalRequired() {
+            return inRange
+                || (!braces.isEmpty() && braces.peek())
+                || nextWordIs("ROWS")
+                || previousWordIs("FIELDTERMINATOR");
+        }
+
+        private void copy(int start, int end) {
+            out.append(text, start, end);
+            pos = end;
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+            separate();
+        }
+
+        private void skipLineComment() {
+            while (pos < text.length() && text.charAt(pos) != '\n') {
+                pos++;
+            }
+            separate();
+        }
+
+        private void skipBlockComment() {
+            int end = text.indexOf("*/", pos + 2);
+            if (end < 0) {
+                throw new IllegalStateException("Unterminated comment");
+            }
+            pos = end + 2;
+            separate();
+        }
+
+        private void separate() {
+            if (!out.isEmpty() && out.charAt(out.length() - 1) != ' ') {
+                out.append(' ');
+            }
+        }
+
+        private String readString(char quote) {
+            StringBuilder value = new StringBuilder();
+            pos++;
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == quote) {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(pos++);
+                switch (escaped) {
+                    case 't' -> value.append('\t');
+                    case 'b' -> value.append('\b');
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 'f' -> value.append('\f');
+                    case 'u', 'U' -> {
+                        int length = escaped == 'u' ? 4 : 8;
+                        if (pos + length > text.length()) {
+                            throw new IllegalStateException("Truncated unicode escape");
+                        }
+                        value.appendCodePoint(Integer.parseInt(text.substring(pos, pos + length), 16));
+                        pos += length;
+                    }
+                    default -> value.append(escaped);
+                }
+            }
+            throw new IllegalStateException("Unterminated string");
+        }
+
+        private int readQuoted(char quote) {
+            int end = text.indexOf(quote, pos + 1);
+            if (end < 0) {
+                throw new IllegalStateException("Unterminated identifier");
+            }
+            return end + 1;
+        }
+
+        private int readParameter() {
+            int end = pos + 1;
+            if (end < text.length() && text.charAt(end) == '`') {
+                int saved = pos;
+                pos = end;
+                end = readQuoted('`');
+                pos = saved;
+                return end;
+            }
+            while (end < text.length() && isWordChar(text.charAt(end))) {
+                end++;
+            }
+            return end;
+        }
+
+        // Returns null for numbers that do not fit a long or a double, which stay inline
+        private Object readNumber() {
+            int start = pos;
+            if (text.startsWith("0x", pos) || text.startsWith("0X", pos) || text.startsWith("0o", pos) || text.startsWith("0O", pos)) {
+                int radix = Character.toLowerCase(text.charAt(pos + 1)) == 'x' ? 16 : 8;
+                pos = wordEnd(pos + 2);
+                return parseLong(text.substring(start + 2, pos).replace("_", ""), radix);
+            }
+            boolean decimal = false;
+            skipDigits();
+            if (peek(0) == '.' && Character.isDigit(peek(1))) {
+                decimal = true;
+                pos++;
+                skipDigits();
+            }
+            if ((peek(0) == 'e' || peek(0) == 'E')
+                && (Character.isDigit(peek(1)) || ((peek(1) == '-' || peek(1) == '+') && Character.isDigit(peek(2))))) {
+                decimal = true;
+                pos += 2;
+                skipDigits();
+            }
+            if (pos < text.length() && isWordChar(text.charAt(pos))) {
+                // Not a number literal after all (e.g. 1abc), copy it verbatim
+                pos = wordEnd(pos);
+                return null;
+            }
+            String literal = text.substring(start, pos).replace("_", "");
+            if (decimal) {
+                return Double.parseDouble(literal);
+            }
+            return parseLong(literal, 10);
+        }
+
+        private void skipDigits() {
+            while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '_')) {
+                pos++;
+            }
+        }
+
+        private static Long parseLong(String digits, int radix) {
+            try {
+                return Long.parseLong(digits, radix);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private boolean nextWordIs(String word) {
+            int i = pos;
+            while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            int end = wordEnd(i);
+            return text.substring(i, end).toUpperCase(Locale.ROOT).equals(word);
+        }
+
+        private boolean previousWordIs(String word) {
+            int end = out.length();
+            while (end > 0 && out.charAt(end - 1) == ' ') {
+                end--;
+            }
+            int start = end;
+            while (start > 0 && isWordChar(out.charAt(start - 1))) {
+                start--;
+            }
+            return out.substring(start, end).toUpperCase(Locale.ROOT).equals(word);
+        }
+
+        private int wordEnd(int from) {
+            int end = from;
+            while (end < text.length() && isWordChar(text.charAt(end))) {
+                end++;
+            }
+            return end;
+        }
+
+        private char peek(int offset) {
+            int i = pos + offset;
+            return i < text.length() ? text.charAt(i) : '\0';
+        }
+
+        // Last significant character written so far
+        private char previous() {
+            int i = out.length() - 1;
+            while (i >= 0 && out.charAt(i) == ' ') {
+                i--;
+            }
+            return i >= 0 ? out.charAt(i) : '\0';
+        }
+
+        // ".5" is a number unless it follows a word (property access) or a dot (range "1..5")
+        private static boolean startsOperand(char previous) {
+            return !isWordChar(previous) && previous != '.' && previous != ')' && previous != ']';
+        }
+
+        private static boolean isWordStart(char c) {
+            return Character.isLetter(c) || c == '_';
+        }
+
+        private static boolean isWordChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_';
+        }
+    }
+}
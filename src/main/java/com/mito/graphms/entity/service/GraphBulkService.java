@@ -0,0 +1,300 @@
+package com.mito.graphms.entity.service;
+
+import com.mito.graphms.domain.entity.GraphNode;
+import com.mito.graphms.dto.BulkWriteResult;
+import com.mito.graphms.dto.RelationshipImportRow;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Values;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk import of nodes and relationships. Rows are chunked and every chunk is
+ * written with a single UNWIND statement in its own transaction, instead of one
+ * repository save (plus re-read) per row.
+ */
+@Service
+public class GraphBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(GraphBulkService.class);
+
+    private static final String COUNT_EXISTING_NODES =
+        "MATCH (n:ITEM) WHERE n.cbdb_id IN $cbdbIds RETURN count(n) AS existing";
+
+    private static final String UPSERT_NODES =
+        "UNWIND $rows AS row " +
+        "MERGE (n:ITEM {cbdb_id: row.cbdb_id}) " +
+        "ON CREATE SET n.id = randomUUID() " +
+        "SET n += row " +
+        GraphGeoService.SET_POINT +
+        "RETURN n.id AS id";
+
+    private static final String FIND_EXISTING_NODES =
+        "MATCH (n:ITEM) WHERE n.cbdb_id IN $cbdbIds RETURN n.cbdb_id AS cbdbId";
+
+    // Same model as the entity mapping: RELATES_TO edges carrying the type as a property
+    private static final String MERGE_RELATIONSHIPS =
+        "UNWIND $rows AS row " +
+        "MATCH (s:ITEM {cbdb_id: row.source}) " +
+        "MATCH (t:ITEM {cbdb_id: row.target}) " +
+        "MERGE (s)-[r:RELATES_TO {type: $type}]->(t) " +
+        "ON CREATE SET r.createdAt = localdatetime() " +
+        "SET r += row.props, r.type = $type, r.updatedAt = localdatetime()";
+
+    private final Neo4jSessionFactory sessionFactory;
+    private final GraphRecordMapper recordMapper;
+    private final GraphNodeCache nodeCache;
+    private final GraphSnapshotService snapshotService;
+    private final QueryResultCache queryResultCache;
+    private final GraphStatsService statsService;
+
+    @Value("${mito.graph.bulk.batch-size:5000}")
+    private int defaultBatchSize;
+
+    @Value("${mito.graph.bulk.max-batch-size:50000}")
+    private int maxBatchSize;
+
+    @Autowired
+    public GraphBulkService(
+        Neo4jSessionFactory sessionFactory,
+        GraphRecordMapper recordMapper,
+        GraphNodeCache nodeCache,
+        GraphSnapshotService snapshotService,
+        QueryResultCache queryResultCache,
+        GraphStatsService statsService
+    ) {
+        this.sessionFactory = sessionFactory;
+        this.recordMapper = recordMapper;
+        this.nodeCache = nodeCache;
+        this.snapshotService = snapshotService;
+        this.queryResultCache = queryResultCache;
+        this.statsService = statsService;
+    }
+
+    /**
+     * Create or update nodes matched on CBDB ID. The iterator is consumed lazily,
+     * so a streamed request body is never fully loaded in memory.
+     *
+     * @param nodes Nodes to upsert, null properties are left untouched on existing nodes
+     * @param batchSize Rows per transaction, null for the configured default
+     * @return Created/updated/failed counts
+     */
+    public BulkWriteResult upsertNodes(Iterator<GraphNode> nodes, Integer batchSize) {
+        long start = System.currentTimeMillis();
+        int chunkSize = resolveBatchSize(batchSize);
+        BulkWriteResult outcome = new BulkWriteResult();
+
+        try (Session session = sessionFactory.writeSession()) {
+            // Last write wins for duplicate CBDB IDs inside the same chunk
+            Map<String, Map<String, Object>> chunk = new LinkedHashMap<>();
+            int folded = 0;
+            long index = 0;
+            while (nodes.hasNext()) {
+                GraphNode node = nodes.next();
+                outcome.addReceived(1);
+                if (node == null || node.getCbdbId() == null || node.getCbdbId().isBlank()) {
+                    outcome.addFailed(1, "Row " + index + ": missing cbdbId");
+                } else {
+                    if (chunk.containsKey(node.getCbdbId())) {
+                        // Folded into the pending row for the same CBDB ID, counted once the chunk commits
+                        folded++;
+                    }
+                    chunk.merge(node.getCbdbId(), recordMapper.toProperties(node), (previous, next) -> {
+                        previous.putAll(next);
+                        return previous;
+                    });
+                    if (chunk.size() >= chunkSize) {
+                        writeNodeChunk(session, chunk, folded, outcome);
+                        chunk.clear();
+                        folded = 0;
+                    }
+                }
+                index++;
+            }
+            if (!chunk.isEmpty()) {
+                writeNodeChunk(session, chunk, folded, outcome);
+            }
+        }
+        // Upserted rows carry no previous state to diff against, the counters are recounted instead
+        statsService.requestReconcile();
+
+        outcome.setElapsedMillis(System.currentTimeMillis() - start);
+        return outcome;
+    }
+
+    private void writeNodeChunk(
+        Session session,
+        Map<String, Map<String, Object>> chunk,
+        int folded,
+        BulkWriteResult outcome
+    ) {
+        List<String> cbdbIds = new ArrayList<>(chunk.keySet());
+        List<Map<String, Object>> rows = new ArrayList<>(chunk.values());
+        outcome.addBatch();
+        try {
+            NodeChunkOutcome written = session.executeWrite(tx -> {
+                long found = tx.run(COUNT_EXISTING_NODES, Values.parameters("cbdbIds", cbdbIds))
+                    .single().get("existing").asLong();
+                List<String> ids = tx.run(UPSERT_NODES, Values.parameters("rows", rows))
+                    .list(record -> record.get("id").asString());
+                return new NodeChunkOutcome(found, ids);
+            });
+            nodeCache.invalidate(written.ids(), cbdbIds);
+            queryResultCache.invalidateAll();
+            rows.forEach(snapshotService::nodePropertiesWritten);
+            outcome.addCreated(rows.size() - written.existing());
+            outcome.addUpdated(written.existing() + folded);
+        } catch (RuntimeException e) {
+            log.warn("Bulk node chunk of {} rows failed", rows.size() + folded, e);
+            outcome.addFailed(rows.size() + folded, "Chunk starting at cbdbId " + cbdbIds.get(0) + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Create or update relationships between existing nodes. Rows are grouped by
+     * relationship type and every full group is written with one MERGE statement.
+     * Rows whose endpoints do not exist are reported, not fatal.
+     *
+     * @param rows Relationships to import
+     * @param batchSize Rows per transaction, null for the configured default
+     * @return Created/updated/failed counts and the missing endpoint CBDB IDs
+     */
+    public BulkWriteResult importRelationships(Iterator<RelationshipImportRow> rows, Integer batchSize) {
+        long start = System.currentTimeMillis();
+        int chunkSize = resolveBatchSize(batchSize);
+        BulkWriteResult outcome = new BulkWriteResult();
+
+        try (Session session = sessionFactory.writeSession()) {
+            Map<String, List<RelationshipImportRow>> byType = new HashMap<>();
+            long index = 0;
+            while (rows.hasNext()) {
+                RelationshipImportRow row = rows.next();
+                outcome.addReceived(1);
+                String error = validate(row);
+                if (error != null) {
+                    outcome.addFailed(1, "Row " + index + ": " + error);
+                } else {
+                    List<RelationshipImportRow> group = byType.computeIfAbsent(row.getType(), key -> new ArrayList<>());
+                    group.add(row);
+                    if (group.size() >= chunkSize) {
+                        writeRelationshipChunk(session, row.getType(), group, outcome);
+                        group.clear();
+                    }
+                }
+                index++;
+            }
+            for (Map.Entry<String, List<RelationshipImportRow>> group : byType.entrySet()) {
+                if (!group.getValue().isEmpty()) {
+                    writeRelationshipChunk(session, group.getKey(), group.getValue(), outcome);
+                }
+            }
+        }
+
+        outcome.setElapsedMillis(System.currentTimeMillis() - start);
+        return outcome;
+    }
+
+    private void writeRelationshipChunk(
+        Session session,
+        String type,
+        List<RelationshipImportRow> chunk,
+        BulkWriteResult outcome
+    ) {
+        Set<String> endpoints = new HashSet<>();
+        for (RelationshipImportRow row : chunk) {
+            endpoints.add(row.getSourceCbdbId());
+            endpoints.add(row.getTargetCbdbId());
+        }
+        outcome.addBatch();
+        try {
+            ChunkOutcome written = session.executeWrite(tx -> {
+                Set<String> existing = new HashSet<>(
+                    tx.run(FIND_EXISTING_NODES, Values.parameters("cbdbIds", new ArrayList<>(endpoints)))
+                        .list(record -> record.get("cbdbId").asString())
+                );
+                List<Map<String, Object>> params = new ArrayList<>(chunk.size());
+                for (RelationshipImportRow row : chunk) {
+                    if (existing.contains(row.getSourceCbdbId()) && existing.contains(row.getTargetCbdbId())) {
+                        Map<String, Object> param = new HashMap<>();
+                        param.put("source", row.getSourceCbdbId());
+                        param.put("target", row.getTargetCbdbId());
+                        param.put("props", row.getProperties() != null ? row.getProperties() : Map.of());
+                        params.add(param);
+                    }
+                }
+                int created = params.isEmpty() ? 0 : tx.run(
+                    MERGE_RELATIONSHIPS,
+                    Values.parameters("rows", params, "type", type)
+                ).consume().counters().relationshipsCreated();
+                return new ChunkOutcome(existing, params.size(), created);
+            });
+
+            queryResultCache.invalidateAll();
+            // Outcome is only touched once the transaction has committed, retries cannot double count
+            for (String cbdbId : endpoints) {
+                if (!written.existing().contains(cbdbId)) {
+                    outcome.addMissingEndpoint(cbdbId);
+                }
+            }
+            long missing = chunk.size() - written.merged();
+            if (missing > 0) {
+                outcome.addFailed(missing, missing + " " + type + " rows reference missing endpoints");
+            }
+            outcome.addCreated(written.created());
+            outcome.addUpdated(written.merged() - written.created());
+            for (RelationshipImportRow row : chunk) {
+                if (written.existing().contains(row.getSourceCbdbId()) && written.existing().contains(row.getTargetCbdbId())) {
+                    Map<String, Object> props = row.getProperties() != null ? row.getProperties() : Map.of();
+                    snapshotService.relationshipWritten(
+                        row.getSourceCbdbId(),
+                        row.getTargetCbdbId(),
+                        type,
+                        props.get("weight") instanceof Number weight ? weight : null,
+                        props.get("active") instanceof Boolean active ? active : null
+                    );
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Bulk {} relationship chunk of {} rows failed", type, chunk.size(), e);
+            outcome.addFailed(chunk.size(), type + " chunk of " + chunk.size() + " rows: " + e.getMessage());
+        }
+    }
+
+    private String validate(RelationshipImportRow row) {
+        if (row == null) {
+            return "empty row";
+        }
+        if (row.getSourceCbdbId() == null || row.getTargetCbdbId() == null) {
+            return "missing sourceCbdbId or targetCbdbId";
+        }
+        if (row.getType() == null || row.getType().isBlank()) {
+            return "missing type";
+        }
+        return null;
+    }
+
+    private int resolveBatchSize(Integer batchSize) {
+        if (batchSize == null || batchSize <= 0) {
+            return Math.min(defaultBatchSize, maxBatchSize);
+        }
+        return Math.min(batchSize, maxBatchSize);
+    }
+
+    private record NodeChunkOutcome(long existing, List<String> ids) {
+    }
+
+    private record ChunkOutcome(Set<String> existing, int merged, int created) {
+    }
+}
@@ -0,0 +1,318 @@
+package com.mito.graphms.entity.service;
+
+import com.mito.graphms.domain.entity.GraphNode;
+import com.mito.graphms.dto.CursorPage;
+import com.mito.graphms.dto.MapCluster;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.summary.ResultSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Geospatial searches on items. The {@code loc_Lat}/{@code loc_Lon} pair cannot be
+ * indexed spatially, so every write of the service also maintains a WGS-84
+ * {@code point} property derived from them ({@link #SET_POINT}), covered by the
+ * point index declared in {@link SchemaManager}. Radius, bounding box and grid
+ * clustering queries are then index seeks instead of label scans.
+ * <p>
+ * Coordinates written by custom Cypher queries or other applications are picked up
+ * by the backfill run at startup.
+ */
+@Service
+public class GraphGeoService {
+
+    private static final Logger log = LoggerFactory.getLogger(GraphGeoService.class);
+
+    /**
+     * Cypher clause deriving {@code n.point} from the coordinates of {@code n}, to be
+     * appended to every statement writing them; out of range coordinates give no point
+     */
+    public static final String SET_POINT =
+        "SET n.point = CASE " +
+        "  WHEN n.loc_Lat IS NULL OR n.loc_Lon IS NULL OR abs(n.loc_Lat) > 90 OR abs(n.loc_Lon) > 180 THEN null " +
+        "  ELSE point({latitude: n.loc_Lat, longitude: n.loc_Lon}) END ";
+
+    // Only rewrites the nodes whose point is missing or out of date
+    private static final String BACKFILL =
+        "MATCH (n:ITEM) " +
+        "WITH n, CASE " +
+        "  WHEN n.loc_Lat IS NULL OR n.loc_Lon IS NULL OR abs(n.loc_Lat) > 90 OR abs(n.loc_Lon) > 180 THEN null " +
+        "  ELSE point({latitude: n.loc_Lat, longitude: n.loc_Lon}) END AS point " +
+        "WHERE coalesce(n.point <> point, n.point IS NOT NULL OR point IS NOT NULL) " +
+        "CALL { WITH n, point SET n.point = point } IN TRANSACTIONS OF 10000 ROWS";
+
+    private static final String FILTERS =
+        "AND ($itemType IS NULL OR n.itemType = $itemType) " +
+        "AND ($status IS NULL OR n.status = $status) ";
+
+    private static final String NEAR =
+        "MATCH (n:ITEM) " +
+        "WHERE point.distance(n.point, point({latitude: $lat, longitude: $lon})) <= $radius " +
+        FILTERS +
+        "WITH n, point.distance(n.point, point({latitude: $lat, longitude: $lon})) AS distance " +
+        "WHERE $afterDistance IS NULL OR distance > $afterDistance " +
+        "   OR (distance = $afterDistance AND n.cbdb_id > $afterCbdbId) " +
+        "RETURN n, distance ORDER BY distance, n.cbdb_id LIMIT $limit";
+
+    private static final String IN_BOX =
+        "WHERE point.withinBBox(n.point, " +
+        "  point({latitude: $minLat, longitude: $minLon}), point({latitude: $maxLat, longitude: $maxLon})) " +
+        FILTERS;
+
+    private static final String WITHIN =
+        "MATCH (n:ITEM) " + IN_BOX +
+        "AND ($after IS NULL OR n.cbdb_id > $after) " +
+        "RETURN n ORDER BY n.cbdb_id LIMIT $limit";
+
+    private static final String CLUSTERS =
+        "MATCH (n:ITEM) " + IN_BOX +
+        "WITH n, toInteger(floor(n.point.longitude / $cell)) AS cellX, toInteger(floor(n.point.latitude / $cell)) AS cellY " +
+        "RETURN cellX, cellY, count(n) AS count, avg(n.point.latitude) AS latitude, " +
+        "       avg(n.point.longitude) AS longitude, min(n.cbdb_id) AS cbdbId";
+
+    private final Neo4jSessionFactory sessionFactory;
+    private final GraphRecordMapper recordMapper;
+    private final boolean backfillOnStartup;
+    private final int cellsPerTile;
+    private final int maxZoom;
+    private final int maxCells;
+
+    @Value("${mito.graph.pagination.default-page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${mito.graph.pagination.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Autowired
+    public GraphGeoService(
+        Neo4jSessionFactory sessionFactory,
+        GraphRecordMapper recordMapper,
+        @Value("${mito.graph.geo.backfill-on-startup:true}") boolean backfillOnStartup,
+        @Value("${mito.graph.geo.cluster.cells-per-tile:4}") int cellsPerTile,
+        @Value("${mito.graph.geo.cluster.max-zoom:22}") int maxZoom,
+        @Value("${mito.graph.geo.cluster.max-cells:10000}") int maxCells
+    ) {
+        this.sessionFactory = sessionFactory;
+        this.recordMapper = recordMapper;
+        this.backfillOnStartup = backfillOnStartup;
+        this.cellsPerTile = cellsPerTile;
+        this.maxZoom = maxZoom;
+        this.maxCells = maxCells;
+    }
+
+    /**
+     * Derive the point of the items written without going through the service
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (backfillOnStartup) {
+            try (Session session = sessionFactory.writeSession()) {
+                ResultSummary summary = session.run(BACKFILL).consume();
+                log.info("Item points backfilled: {} set", summary.counters().propertiesSet());
+            } catch (RuntimeException e) {
+                log.warn("Item point backfill failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Items within a radius, nearest first. The cursor is the distance and CBDB ID
+     * of the last item of the previous page.
+     *
+     * @param lat Latitude of the centre
+     * @param lon Longitude of the centre
+     * @param radiusKm Radius in kilometres
+     * @param itemType Optional item type filter
+     * @param status Optional status filter
+     * @param after Cursor returned by the previous page, null for the first page
+     * @param limit Requested page size, capped to the configured maximum
+     * @return Page of nodes ordered by distance, relationships not hydrated
+     */
+    public CursorPage<GraphNode> findNear(
+        double lat,
+        double lon,
+        double radiusKm,
+        String itemType,
+        String status,
+        String after,
+        Integer limit
+    ) {
+        checkCoordinates(lat, lon);
+        if (!(radiusKm > 0)) {
+            throw new InvalidGeoQueryException("radiusKm must be positive");
+        }
+        int pageSize = resolvePageSize(limit);
+        Map<String, Object> parameters = filters(itemType, status);
+        parameters.put("lat", lat);
+        parameters.put("lon", lon);
+        parameters.put("radius", radiusKm * 1000);
+        parameters.put("afterDistance", null);
+        parameters.put("afterCbdbId", null);
+        if (after != null) {
+            int separator = after.indexOf(':');
+            try {
+                parameters.put("afterDistance", Double.parseDouble(after.substring(0, Math.max(separator, 0))));
+            } catch (NumberFormatException e) {
+                throw new InvalidGeoQueryException("Invalid cursor: " + after);
+            }
+            parameters.put("afterCbdbId", after.substring(separator + 1));
+        }
+        parameters.put("limit", pageSize + 1);
+
+        List<GraphNode> nodes = new ArrayList<>();
+        double lastDistance = 0;
+        try (Session session = sessionFactory.readSession()) {
+            // One extra row tells whether another page exists
+            for (Record record : session.run(NEAR, parameters).list()) {
+                if (nodes.size() == pageSize) {
+                    GraphNode last = nodes.get(pageSize - 1);
+                    return new CursorPage<>(nodes, lastDistance + ":" + last.getCbdbId());
+                }
+                nodes.add(recordMapper.toNode(record.get("n")));
+                lastDistance = record.get("distance").asDouble();
+            }
+        }
+        return new CursorPage<>(nodes, null);
+    }
+
+    /**
+     * Items inside a bounding box, ordered by CBDB ID
+     *
+     * @param bbox {@code minLon,minLat,maxLon,maxLat}; a box crossing the antimeridian has minLon > maxLon
+     * @param itemType Optional item type filter
+     * @param status Optional status filter
+     * @param after CBDB ID of the last item of the previous page, null for the first page
+     * @param limit Requested page size, capped to the configured maximum
+     * @return Page of nodes, relationships not hydrated
+     */
+    public CursorPage<GraphNode> findWithin(String bbox, String itemType, String status, String after, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        Map<String, Object> parameters = filters(itemType, status);
+        putBoundingBox(parameters, bbox);
+        parameters.put("after", after);
+        parameters.put("limit", pageSize + 1);
+
+        List<GraphNode> nodes;
+        try (Session session = sessionFactory.readSession()) {
+            nodes = session.run(WITHIN, parameters).list(record -> recordMapper.toNode(record.get("n")));
+        }
+        if (nodes.size() <= pageSize) {
+            return new CursorPage<>(nodes, null);
+        }
+        List<GraphNode> page = nodes.subList(0, pageSize);
+        return new CursorPage<>(List.copyOf(page), page.get(pageSize - 1).getCbdbId());
+    }
+
+    /**
+     * Item counts per cell of a grid sized for a web map zoom level: at zoom {@code z}
+     * a 256 px tile spans {@code 360 / 2^z} degrees and is split in the configured
+     * number of cells per side, so the browser receives at most a few markers per
+     * tile instead of every item. A box too large for the zoom, i.e. covering more than
+     * the configured maximum number of cells, is clustered at the highest lower zoom
+     * that fits, so the cell count and the response size stay bounded.
+     *
+     * @param bbox {@code minLon,minLat,maxLon,maxLat} of the visible map
+     * @param zoom Web map zoom level
+     * @param itemType Optional item type filter
+     * @param status Optional status filter
+     * @return Non-empty cells with their item count and centroid
+     */
+    public List<MapCluster> cluster(String bbox, int zoom, String itemType, String status) {
+        if (zoom < 0 || zoom > maxZoom) {
+            throw new InvalidGeoQueryException("zoom must be between 0 and " + maxZoom);
+        }
+        Map<String, Object> parameters = filters(itemType, status);
+        putBoundingBox(parameters, bbox);
+        parameters.put("cell", cellSize(parameters, zoom));
+
+        try (Session session = sessionFactory.readSession()) {
+            return session.run(CLUSTERS, parameters).list(record -> {
+                long count = record.get("count").asLong();
+                return new MapCluster(
+                    record.get("cellX").asLong(),
+                    record.get("cellY").asLong(),
+                    count,
+                    record.get("latitude").asDouble(),
+                    record.get("longitude").asDouble(),
+                    count == 1 ? record.get("cbdbId").asString(null) : null
+                );
+            });
+        }
+    }
+
+    // Cell size in degrees at the zoom, or at the lower zoom needed to fit the box in maxCells
+    private double cellSize(Map<String, Object> parameters, int zoom) {
+        double width = (double) parameters.get("maxLon") - (double) parameters.get("minLon");
+        if (width < 0) {
+            // Box crossing the antimeridian
+            width += 360;
+        }
+        double height = (double) parameters.get("maxLat") - (double) parameters.get("minLat");
+        for (int effectiveZoom = zoom; ; effectiveZoom--) {
+            double cell = 360.0 / (Math.pow(2, effectiveZoom) * cellsPerTile);
+            double cells = (Math.floor(width / cell) + 1) * (Math.floor(height / cell) + 1);
+            if (cells <= maxCells || effectiveZoom == 0) {
+                if (effectiveZoom < zoom) {
+                    log.debug("Clusters of bbox {}x{} degrees computed at zoom {} instead of {}",
+                        width, height, effectiveZoom, zoom);
+                }
+                return cell;
+            }
+        }
+    }
+
+    private static Map<String, Object> filters(String itemType, String status) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("itemType", itemType);
+        parameters.put("status", status);
+        return parameters;
+    }
+
+    private static void putBoundingBox(Map<String, Object> parameters, String bbox) {
+        String[] bounds = bbox != null ? bbox.split(",") : new String[0];
+        if (bounds.length != 4) {
+            throw new InvalidGeoQueryException("bbox must be minLon,minLat,maxLon,maxLat");
+        }
+        double[] values = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) {
+                values[i] = Double.parseDouble(bounds[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidGeoQueryException("bbox must be minLon,minLat,maxLon,maxLat");
+        }
+        checkCoordinates(values[1], values[0]);
+        checkCoordinates(values[3], values[2]);
+        if (values[1] > values[3]) {
+            throw new InvalidGeoQueryException("bbox minLat is greater than maxLat");
+        }
+        parameters.put("minLon", values[0]);
+        parameters.put("minLat", values[1]);
+        parameters.put("maxLon", values[2]);
+        parameters.put("maxLat", values[3]);
+    }
+
+    private static void checkCoordinates(double lat, double lon) {
+        if (!(Math.abs(lat) <= 90) || !(Math.abs(lon) <= 180)) {
+            throw new InvalidGeoQueryException("Coordinates out of range: " + lat + ", " + lon);
+        }
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        return Math.min(limit, maxPageSize);
+    }
+}
@@ -0,0 +1,239 @@
+package com.mito.graphms.entity.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mito.graphms.domain.entity.GraphNode;
+import com.mito.graphms.dto.CacheInvalidation;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of shallow nodes (properties only, no relationship sets),
+ * indexed both by CBDB ID and by internal ID. Size and TTL bounded, evicted with
+ * Caffeine's W-TinyLFU policy. Writers must call {@link #invalidate} with every
+ * key they touched; hit/miss/eviction counters are published to Micrometer.
+ * <p>
+ * Invalidations are also broadcast to the other replicas through the
+ * {@link CacheInvalidationBus}. Every eviction, local or remote, leaves a short
+ * lived tombstone stamped with a Lamport clock; a load that started before the
+ * tombstone was written does not store its (possibly pre-write) result.
+ */
+@Component
+public class GraphNodeCache {
+
+    private final boolean enabled;
+    private final Cache<String, GraphNode> byCbdbId;
+    private final Cache<String, GraphNode> byId;
+    private final Cache<String, Long> cbdbIdTombstones;
+    private final Cache<String, Long> idTombstones;
+    private final CacheInvalidationBus invalidationBus;
+    private final String origin = UUID.randomUUID().toString();
+    private final AtomicLong clock = new AtomicLong();
+    // Clock value of the last invalidateAll, local or remote: a tombstone for every key
+    private final AtomicLong allInvalidatedAt = new AtomicLong(-1);
+
+    @Autowired
+    public GraphNodeCache(
+        MeterRegistry meterRegistry,
+        CacheInvalidationBus invalidationBus,
+        @Value("${mito.graph.cache.nodes.enabled:true}") boolean enabled,
+        @Value("${mito.graph.cache.nodes.maximum-size:50000}") long maximumSize,
+        @Value("${mito.graph.cache.nodes.expire-after-write:5m}") Duration expireAfterWrite,
+        @Value("${mito.graph.cache.invalidation.tombstone-ttl:10s}") Duration tombstoneTtl
+    ) {
+        this.enabled = enabled;
+        this.invalidationBus = invalidationBus;
+        this.byCbdbId = newCache(maximumSize, expireAfterWrite);
+        this.byId = newCache(maximumSize, expireAfterWrite);
+        this.cbdbIdTombstones = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(tombstoneTtl).build();
+        this.idTombstones = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(tombstoneTtl).build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byCbdbId, "graph.nodes.byCbdbId");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "graph.nodes.byId");
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    /**
+     * Get a node by CBDB ID, loading it on a miss. Empty results are not cached.
+     *
+     * @param cbdbId CBDB ID of the node
+     * @param loader Shallow lookup used on a miss
+     * @return Optional node
+     */
+    public Optional<GraphNode> getByCbdbId(String cbdbId, Function<String, Optional<GraphNode>> loader) {
+        return readThrough(byCbdbId, cbdbIdTombstones, cbdbId, loader);
+    }
+
+    /**
+     * Get a node by internal ID, loading it on a miss. Empty results are not cached.
+     *
+     * @param id Internal ID of the node
+     * @param loader Shallow lookup used on a miss
+     * @return Optional node
+     */
+    public Optional<GraphNode> getById(String id, Function<String, Optional<GraphNode>> loader) {
+        return readThrough(byId, idTombstones, id, loader);
+    }
+
+    /**
+     * Drop the given keys now and, when called inside a transaction, once more
+     * after commit so that a concurrent read of the pre-commit state cannot stay cached.
+     * The other replicas are notified once the write is visible.
+     *
+     * @param id Internal ID of the written node, may be null
+     * @param cbdbIds CBDB IDs the node had before and after the write, nulls are ignored
+     */
+    public void invalidate(String id, String... cbdbIds) {
+        invalidate(Collections.singletonList(id), Arrays.asList(cbdbIds));
+    }
+
+    /**
+     * Batch variant of {@link #invalidate(String, String...)}
+     *
+     * @param ids Internal IDs of the written nodes, nulls are ignored
+     * @param cbdbIds CBDB IDs of the written nodes, nulls are ignored
+     */
+    public void invalidate(Collection<String> ids, Collection<String> cbdbIds) {
+        if (!enabled) {
+            return;
+        }
+        List<String> idKeys = withoutNulls(ids);
+        List<String> cbdbIdKeys = withoutNulls(cbdbIds);
+        long version = evict(idKeys, cbdbIdKeys, 0);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    broadcast(idKeys, cbdbIdKeys, evict(idKeys, cbdbIdKeys, 0));
+                }
+            });
+        } else {
+            broadcast(idKeys, cbdbIdKeys, version);
+        }
+    }
+
+    /**
+     * Drop every entry, for writes whose keys are not known (custom Cypher). Like
+     * {@link #invalidate}, repeated after the current transaction completes and
+     * broadcast to the other replicas.
+     */
+    public void invalidateAll() {
+        if (!enabled) {
+            return;
+        }
+        long version = evictAll(0);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    broadcastAll(evictAll(0));
+                }
+            });
+        } else {
+            broadcastAll(version);
+        }
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (!enabled || origin.equals(invalidation.getOrigin())) {
+            return;
+        }
+        if (invalidation.isAll()) {
+            evictAll(invalidation.getVersion());
+            return;
+        }
+        evict(withoutNulls(invalidation.getIds()), withoutNulls(invalidation.getCbdbIds()), invalidation.getVersion());
+    }
+
+    private Optional<GraphNode> readThrough(
+        Cache<String, GraphNode> cache,
+        Cache<String, Long> tombstones,
+        String key,
+        Function<String, Optional<GraphNode>> loader
+    ) {
+        if (!enabled) {
+            return loader.apply(key);
+        }
+        GraphNode[] loaded = new GraphNode[1];
+        GraphNode cached = cache.get(key, k -> {
+            long start = clock.get();
+            loaded[0] = loader.apply(k).orElse(null);
+            Long invalidatedAt = tombstones.getIfPresent(k);
+            // Invalidated while loading: hand the result to the caller but do not keep it
+            boolean stale = (invalidatedAt != null && invalidatedAt > start) || allInvalidatedAt.get() > start;
+            return stale ? null : loaded[0];
+        });
+        return Optional.ofNullable(cached != null ? cached : loaded[0]);
+    }
+
+    /**
+     * Tombstone first, then evict: a load still in flight either sees the tombstone
+     * or is waited for by the eviction.
+     *
+     * @return Clock value stamped on the tombstones
+     */
+    private long evict(List<String> ids, List<String> cbdbIds, long observedVersion) {
+        long version = clock.updateAndGet(current -> Math.max(current, observedVersion) + 1);
+        for (String id : ids) {
+            idTombstones.put(id, version);
+            byId.invalidate(id);
+        }
+        for (String cbdbId : cbdbIds) {
+            cbdbIdTombstones.put(cbdbId, version);
+            byCbdbId.invalidate(cbdbId);
+        }
+        return version;
+    }
+
+    private long evictAll(long observedVersion) {
+        long version = clock.updateAndGet(current -> Math.max(current, observedVersion) + 1);
+        allInvalidatedAt.accumulateAndGet(version, Math::max);
+        byId.invalidateAll();
+        byCbdbId.invalidateAll();
+        return version;
+    }
+
+    private void broadcastAll(long version) {
+        CacheInvalidation invalidation = new CacheInvalidation(origin, version, List.of(), List.of());
+        invalidation.setAll(true);
+        invalidationBus.publish(invalidation);
+    }
+
+    private void broadcast(List<String> ids, List<String> cbdbIds, long version) {
+        if (!ids.isEmpty() || !cbdbIds.isEmpty()) {
+            invalidationBus.publish(new CacheInvalidation(origin, version, ids, cbdbIds));
+        }
+    }
+
+    private static List<String> withoutNulls(Collection<String> keys) {
+        List<String> result = new ArrayList<>(keys != null ? keys.size() : 0);
+        if (keys != null) {
+            keys.stream().filter(Objects::nonNull).forEach(result::add);
+        }
+        return result;
+    }
+
+    private static Cache<String, GraphNode> newCache(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+    }
+}
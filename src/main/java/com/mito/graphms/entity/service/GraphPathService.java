@@ -0,0 +1,614 @@
+package com.mito.graphms.entity.service;
+
+import com.mito.graphms.dto.GraphPath;
+import com.mito.graphms.dto.PathNode;
+import com.mito.graphms.dto.PathResult;
+import com.mito.graphms.dto.PathStep;
+import com.mito.graphms.dto.TraversalDirection;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.TransactionConfig;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.exceptions.Neo4jException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Shortest paths between two items. A single unweighted path is found with a
+ * bidirectional BFS, which only explores about the square root of what a one-sided
+ * search would; weighted searches use Dijkstra and {@code k > 1} runs Yen's
+ * algorithm on top of either. Items with more relationships than the configured
+ * hub degree are never expanded (they can still be an endpoint), and the whole
+ * search stops at the time budget, returning the paths found so far. Every Neo4j
+ * query runs with the time left as transaction timeout, so a single expansion of a
+ * dense frontier cannot outlive the budget either.
+ * <p>
+ * Relationships come from the in-memory snapshot when available, otherwise they
+ * are fetched from Neo4j one BFS level at a time and kept for the rest of the request.
+ */
+@Service
+public class GraphPathService {
+
+    private static final String EXPAND =
+        "UNWIND $cbdbIds AS cbdbId " +
+        "MATCH (n:ITEM {cbdb_id: cbdbId}) " +
+        "WHERE n.cbdb_id IN $keep OR COUNT { (n)--() } <= $maxDegree " +
+        "MATCH (n)-[r]-(m:ITEM) " +
+        "WHERE $types IS NULL OR coalesce(r.type, type(r)) IN $types " +
+        "RETURN n.cbdb_id AS cbdbId, m.cbdb_id AS neighbour, coalesce(r.type, type(r)) AS type, r.weight AS weight, " +
+        "       startNode(r) = n AS outgoing";
+
+    private static final String DESCRIBE =
+        "MATCH (n:ITEM) WHERE n.cbdb_id IN $cbdbIds " +
+        "RETURN n.cbdb_id AS cbdbId, n.name AS name, n.itemType AS itemType, " +
+        "       n.importance AS importance, n.status AS status";
+
+    // Nodes whose relationships a Dijkstra step fetches together with the one being settled
+    private static final int DIJKSTRA_PREFETCH = 256;
+
+    // Details of the nodes on the paths found are still fetched once the budget is spent
+    private static final Duration DESCRIBE_MIN_TIMEOUT = Duration.ofMillis(200);
+
+    private final Neo4jSessionFactory sessionFactory;
+    private final GraphSnapshotService snapshotService;
+
+    @Value("${mito.graph.paths.default-depth:6}")
+    private int defaultDepth;
+
+    @Value("${mito.graph.paths.max-depth:10}")
+    private int maxDepth;
+
+    @Value("${mito.graph.paths.max-k:10}")
+    private int maxK;
+
+    @Value("${mito.graph.paths.max-hub-degree:1000}")
+    private int maxHubDegree;
+
+    @Value("${mito.graph.paths.time-budget:2s}")
+    private Duration timeBudget;
+
+    @Autowired
+    public GraphPathService(Neo4jSessionFactory sessionFactory, GraphSnapshotService snapshotService) {
+        this.sessionFactory = sessionFactory;
+        this.snapshotService = snapshotService;
+    }
+
+    /**
+     * Find up to {@code k} loopless paths between two items, shortest first
+     *
+     * @param from CBDB ID of the first item
+     * @param to CBDB ID of the second item
+     * @param depth Maximum path length, capped to the configured maximum
+     * @param direction Direction relationships are walked in, from {@code from} towards {@code to}
+     * @param types Relationship types to follow, null or empty for all
+     * @param k Number of paths, capped to the configured maximum
+     * @param weighted true to minimise the sum of relationship weights (1 when unset) instead of the hop count
+     * @return Optional result, empty if one of the items does not exist
+     */
+    public Optional<PathResult> findPaths(
+        String from,
+        String to,
+        Integer depth,
+        TraversalDirection direction,
+        List<String> types,
+        Integer k,
+        boolean weighted
+    ) {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeBudget.toMillis();
+        int hops = depth == null || depth <= 0 ? defaultDepth : Math.min(depth, maxDepth);
+        int paths = k == null || k <= 0 ? 1 : Math.min(k, maxK);
+        List<String> typeList = types == null || types.isEmpty() ? null : types;
+
+        Optional<GraphSnapshotService.View> snapshot = snapshotService.view();
+        Session session = snapshot.isPresent() ? null : sessionFactory.readSession();
+        try {
+            Adjacency adjacency = snapshot.isPresent()
+                ? new SnapshotAdjacency(snapshot.get(), typeList, new HashSet<>(List.of(from, to)))
+                : new Neo4jAdjacency(session, typeList, List.of(from, to), deadline);
+            if (adjacency.describe(List.of(from, to)).size() < (from.equals(to) ? 1 : 2)) {
+                return Optional.empty();
+            }
+
+            Search search = new Search(
+                adjacency,
+                direction != null ? direction : TraversalDirection.BOTH,
+                weighted,
+                deadline
+            );
+            List<Path> found = search.kShortest(from, to, paths, hops);
+
+            PathResult result = new PathResult(from, to);
+            Set<String> cbdbIds = new LinkedHashSet<>();
+            for (Path path : found) {
+                result.getPaths().add(path.toDto());
+                cbdbIds.addAll(path.nodes());
+            }
+            result.getNodes().putAll(adjacency.describe(cbdbIds));
+            result.setTruncated(search.expired || adjacency.timedOut());
+            result.setElapsedMillis(System.currentTimeMillis() - start);
+            return Optional.of(result);
+        } finally {
+            if (session != null) {
+                session.close();
+            }
+        }
+    }
+
+    /**
+     * Relationship of a node, seen from that node
+     *
+     * @param neighbour CBDB ID of the node on the other side
+     * @param outgoing true if the relationship is stored from this node to the neighbour
+     */
+    private record Step(String neighbour, String type, double weight, boolean outgoing) {
+
+        String relationshipKey(String from) {
+            return outgoing ? from + '|' + type + '|' + neighbour : neighbour + '|' + type + '|' + from;
+        }
+
+        Step reversed(String from) {
+            return new Step(from, type, weight, !outgoing);
+        }
+    }
+
+    /**
+     * Path in walk order: {@code steps.get(i)} goes from {@code nodes.get(i)} to {@code nodes.get(i + 1)}
+     */
+    private record Path(List<String> nodes, List<Step> steps, double cost) {
+
+        GraphPath toDto() {
+            List<PathStep> relationships = new ArrayList<>(steps.size());
+            for (int i = 0; i < steps.size(); i++) {
+                Step step = steps.get(i);
+                String node = nodes.get(i);
+                Double weight = Double.isNaN(step.weight()) ? null : step.weight();
+                relationships.add(step.outgoing()
+                    ? new PathStep(node, step.neighbour(), step.type(), weight)
+                    : new PathStep(step.neighbour(), node, step.type(), weight));
+            }
+            return new GraphPath(nodes, relationships, cost);
+        }
+    }
+
+    // Search tree entry: the node one step closer to the root of the search and the step to take
+    private record Link(String from, Step step) {
+    }
+
+    private interface Adjacency {
+
+        /**
+         * Load the relationships of the given nodes in one go, where that matters
+         */
+        void prefetch(Collection<String> cbdbIds);
+
+        /**
+         * @return Relationships of the node, empty for hubs and unknown nodes
+         */
+        List<Step> steps(String cbdbId);
+
+        Map<String, PathNode> describe(Collection<String> cbdbIds);
+
+        /**
+         * @return true once a query was cut by the time budget
+         */
+        default boolean timedOut() {
+            return false;
+        }
+    }
+
+    private class SnapshotAdjacency implements Adjacency {
+
+        private final GraphSnapshotService.View view;
+        private final Set<String> types;
+        private final Set<String> keep;
+
+        SnapshotAdjacency(GraphSnapshotService.View view, List<String> types, Set<String> keep) {
+            this.view = view;
+            this.types = types != null ? new HashSet<>(types) : null;
+            this.keep = keep;
+        }
+
+        @Override
+        public void prefetch(Collection<String> cbdbIds) {
+            // Everything is already in memory
+        }
+
+        @Override
+        public List<Step> steps(String cbdbId) {
+            if (!keep.contains(cbdbId) && view.degree(cbdbId) > maxHubDegree) {
+                return List.of();
+            }
+            List<Step> steps = new ArrayList<>();
+            view.forEachNeighbour(cbdbId, TraversalDirection.OUTGOING, types,
+                (neighbour, type, weight, active) -> steps.add(new Step(neighbour, type, weight, true)));
+            view.forEachNeighbour(cbdbId, TraversalDirection.INCOMING, types,
+                (neighbour, type, weight, active) -> steps.add(new Step(neighbour, type, weight, false)));
+            return steps;
+        }
+
+        @Override
+        public Map<String, PathNode> describe(Collection<String> cbdbIds) {
+            Map<String, PathNode> nodes = new LinkedHashMap<>();
+            for (String cbdbId : cbdbIds) {
+                GraphSnapshotService.SnapshotNode node = view.node(cbdbId);
+                if (node != null) {
+                    nodes.put(cbdbId, new PathNode(
+                        node.cbdbId(), node.name(), node.itemType(), node.importance(), node.status()
+                    ));
+                }
+            }
+            return nodes;
+        }
+    }
+
+    private class Neo4jAdjacency implements Adjacency {
+
+        private final Session session;
+        private final List<String> types;
+        private final List<String> keep;
+        private final long deadline;
+        private final Map<String, List<Step>> loaded = new HashMap<>();
+        private boolean timedOut;
+
+        Neo4jAdjacency(Session session, List<String> types, List<String> keep, long deadline) {
+            this.session = session;
+            this.types = types;
+            this.keep = keep;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void prefetch(Collection<String> cbdbIds) {
+            List<String> missing = new ArrayList<>();
+            for (String cbdbId : cbdbIds) {
+                if (!loaded.containsKey(cbdbId)) {
+                    missing.add(cbdbId);
+                    loaded.put(cbdbId, new ArrayList<>());
+                }
+            }
+            if (missing.isEmpty()) {
+                return;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                timedOut = true;
+                return;
+            }
+            try {
+                Result result = session.run(EXPAND, Values.parameters(
+                    "cbdbIds", missing,
+                    "keep", keep,
+                    "maxDegree", maxHubDegree,
+                    "types", types
+                ).asMap(), timeout(Duration.ofMillis(remaining)));
+                while (result.hasNext()) {
+                    Record record = result.next();
+                    String neighbour = record.get("neighbour").asString(null);
+                    if (neighbour != null) {
+                        loaded.get(record.get("cbdbId").asString()).add(new Step(
+                            neighbour,
+                            record.get("type").asString(),
+                            record.get("weight").isNull() ? Double.NaN : record.get("weight").asDouble(),
+                            record.get("outgoing").asBoolean()
+                        ));
+                    }
+                }
+            } catch (Neo4jException e) {
+                if (!isTimeout(e)) {
+                    throw e;
+                }
+                // Partially loaded nodes are not used: the search stops as soon as it sees the timeout
+                timedOut = true;
+            }
+        }
+
+        @Override
+        public List<Step> steps(String cbdbId) {
+            prefetch(List.of(cbdbId));
+            return loaded.get(cbdbId);
+        }
+
+        @Override
+        public Map<String, PathNode> describe(Collection<String> cbdbIds) {
+            Map<String, PathNode> nodes = new LinkedHashMap<>();
+            Duration remaining = Duration.ofMillis(deadline - System.currentTimeMillis());
+            try {
+                Result result = session.run(
+                    DESCRIBE,
+                    Map.of("cbdbIds", new ArrayList<>(cbdbIds)),
+                    timeout(remaining.compareTo(DESCRIBE_MIN_TIMEOUT) > 0 ? remaining : DESCRIBE_MIN_TIMEOUT)
+                );
+                while (result.hasNext()) {
+                    Record record = result.next();
+                    nodes.put(record.get("cbdbId").asString(), new PathNode(
+                        record.get("cbdbId").asString(),
+                        record.get("name").asString(null),
+                        record.get("itemType").asString(null),
+                        record.get("importance").asString(null),
+                        record.get("status").asString(null)
+                    ));
+                }
+            } catch (Neo4jException e) {
+                if (!isTimeout(e)) {
+                    throw e;
+                }
+                timedOut = true;
+            }
+            return nodes;
+        }
+
+        @Override
+        public boolean timedOut() {
+            return timedOut;
+        }
+
+        private static TransactionConfig timeout(Duration timeout) {
+            return TransactionConfig.builder().withTimeout(timeout).build();
+        }
+
+        // Server side transaction timeout, as configured by the client or by the database
+        private static boolean isTimeout(Neo4jException e) {
+            return e.code() != null && e.code().startsWith("Neo.ClientError.Transaction.TransactionTimedOut");
+        }
+    }
+
+    /**
+     * State of one request: the relationship source, the search options and the deadline
+     */
+    private static final class Search {
+
+        private final Adjacency adjacency;
+        private final TraversalDirection direction;
+        private final boolean weighted;
+        private final long deadline;
+        private boolean expired;
+
+        Search(Adjacency adjacency, TraversalDirection direction, boolean weighted, long deadline) {
+            this.adjacency = adjacency;
+            this.direction = direction;
+            this.weighted = weighted;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Yen's algorithm: every further path deviates from an accepted one at some
+         * spur node, with the relationships already used from the same root removed
+         */
+        List<Path> kShortest(String from, String to, int k, int maxHops) {
+            List<Path> found = new ArrayList<>();
+            Path first = shortest(from, to, Set.of(), Set.of(), maxHops);
+            if (first == null) {
+                return found;
+            }
+            found.add(first);
+
+            PriorityQueue<Path> candidates = new PriorityQueue<>(
+                Comparator.comparingDouble(Path::cost).thenComparingInt(path -> path.steps().size())
+            );
+            Set<List<String>> seen = new HashSet<>();
+            seen.add(signature(first));
+            while (found.size() < k && !isExpired()) {
+                Path previous = found.get(found.size() - 1);
+                for (int i = 0; i < previous.steps().size() && !isExpired(); i++) {
+                    List<String> rootNodes = previous.nodes().subList(0, i + 1);
+                    List<Step> rootSteps = previous.steps().subList(0, i);
+                    Set<String> blockedEdges = new HashSet<>();
+                    for (Path path : found) {
+                        if (path.steps().size() > i
+                            && path.nodes().subList(0, i + 1).equals(rootNodes)
+                            && path.steps().subList(0, i).equals(rootSteps)) {
+                            blockedEdges.add(path.steps().get(i).relationshipKey(path.nodes().get(i)));
+                        }
+                    }
+                    // Root nodes other than the spur node are removed to keep the path loopless
+                    Set<String> blockedNodes = new HashSet<>(rootNodes.subList(0, i));
+                    Path spur = shortest(rootNodes.get(i), to, blockedNodes, blockedEdges, maxHops - i);
+                    if (spur != null) {
+                        List<String> nodes = new ArrayList<>(rootNodes);
+                        nodes.addAll(spur.nodes().subList(1, spur.nodes().size()));
+                        List<Step> steps = new ArrayList<>(rootSteps);
+                        steps.addAll(spur.steps());
+                        Path candidate = new Path(nodes, steps, cost(steps));
+                        if (seen.add(signature(candidate))) {
+                            candidates.add(candidate);
+                        }
+                    }
+                }
+                if (candidates.isEmpty()) {
+                    break;
+                }
+                found.add(candidates.poll());
+            }
+            return found;
+        }
+
+        private Path shortest(String from, String to, Set<String> blockedNodes, Set<String> blockedEdges, int maxHops) {
+            return weighted
+                ? dijkstra(from, to, blockedNodes, blockedEdges, maxHops)
+                : bidirectionalBfs(from, to, blockedNodes, blockedEdges, maxHops);
+        }
+
+        /**
+         * Grow the smaller of the two BFS frontiers one level at a time until they meet.
+         * Levels are expanded whole, so the first meeting point gives a shortest path.
+         */
+        private Path bidirectionalBfs(String from, String to, Set<String> blockedNodes, Set<String> blockedEdges, int maxHops) {
+            if (from.equals(to)) {
+                return new Path(List.of(from), List.of(), 0);
+            }
+            Map<String, Link> forward = new HashMap<>();
+            Map<String, Link> backward = new HashMap<>();
+            forward.put(from, null);
+            backward.put(to, null);
+            List<String> forwardFrontier = List.of(from);
+            List<String> backwardFrontier = List.of(to);
+
+            for (int hops = 0; hops < maxHops && !forwardFrontier.isEmpty() && !backwardFrontier.isEmpty(); hops++) {
+                if (isExpired()) {
+                    return null;
+                }
+                boolean expandForward = forwardFrontier.size() <= backwardFrontier.size();
+                List<String> frontier = expandForward ? forwardFrontier : backwardFrontier;
+                Map<String, Link> seen = expandForward ? forward : backward;
+                Map<String, Link> other = expandForward ? backward : forward;
+                adjacency.prefetch(frontier);
+                if (isExpired()) {
+                    return null;
+                }
+
+                List<String> next = new ArrayList<>();
+                for (String node : frontier) {
+                    for (Step step : adjacency.steps(node)) {
+                        String neighbour = step.neighbour();
+                        if (!follows(step, expandForward)
+                            || seen.containsKey(neighbour)
+                            || blockedNodes.contains(neighbour)
+                            || blockedEdges.contains(step.relationshipKey(node))) {
+                            continue;
+                        }
+                        // Backward links are stored in walk order too: from the new node towards the target
+                        seen.put(neighbour, new Link(node, expandForward ? step : step.reversed(node)));
+                        if (other.containsKey(neighbour)) {
+                            return join(neighbour, forward, backward);
+                        }
+                        next.add(neighbour);
+                    }
+                }
+                if (expandForward) {
+                    forwardFrontier = next;
+                } else {
+                    backwardFrontier = next;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Dijkstra over the relationship weights, not expanding past {@code maxHops}
+         */
+        private Path dijkstra(String from, String to, Set<String> blockedNodes, Set<String> blockedEdges, int maxHops) {
+            record Entry(String node, double cost, int hops) {
+            }
+            Map<String, Double> costs = new HashMap<>();
+            Map<String, Link> parents = new HashMap<>();
+            Set<String> settled = new HashSet<>();
+            PriorityQueue<Entry> queue = new PriorityQueue<>(Comparator.comparingDouble(Entry::cost));
+            costs.put(from, 0.0);
+            queue.add(new Entry(from, 0.0, 0));
+
+            while (!queue.isEmpty()) {
+                if (isExpired()) {
+                    return null;
+                }
+                Entry entry = queue.poll();
+                if (!settled.add(entry.node())) {
+                    continue;
+                }
+                if (entry.node().equals(to)) {
+                    return join(to, parents, Map.of());
+                }
+                if (entry.hops() >= maxHops) {
+                    continue;
+                }
+                // Fetch other queued nodes along with this one to save round trips
+                List<String> batch = new ArrayList<>();
+                batch.add(entry.node());
+                queue.stream().limit(DIJKSTRA_PREFETCH).forEach(queued -> batch.add(queued.node()));
+                adjacency.prefetch(batch);
+                if (isExpired()) {
+                    return null;
+                }
+
+                for (Step step : adjacency.steps(entry.node())) {
+                    String neighbour = step.neighbour();
+                    if (!follows(step, true)
+                        || settled.contains(neighbour)
+                        || blockedNodes.contains(neighbour)
+                        || blockedEdges.contains(step.relationshipKey(entry.node()))) {
+                        continue;
+                    }
+                    double cost = entry.cost() + edgeCost(step);
+                    if (cost < costs.getOrDefault(neighbour, Double.POSITIVE_INFINITY)) {
+                        costs.put(neighbour, cost);
+                        parents.put(neighbour, new Link(entry.node(), step));
+                        queue.add(new Entry(neighbour, cost, entry.hops() + 1));
+                    }
+                }
+            }
+            return null;
+        }
+
+        private Path join(String meeting, Map<String, Link> forward, Map<String, Link> backward) {
+            List<String> nodes = new ArrayList<>();
+            List<Step> steps = new ArrayList<>();
+            for (Link link = forward.get(meeting); link != null; link = forward.get(link.from())) {
+                nodes.add(link.from());
+                steps.add(link.step());
+            }
+            Collections.reverse(nodes);
+            Collections.reverse(steps);
+            nodes.add(meeting);
+            for (Link link = backward.get(meeting); link != null; link = backward.get(link.from())) {
+                nodes.add(link.from());
+                steps.add(link.step());
+            }
+            return new Path(nodes, steps, cost(steps));
+        }
+
+        private boolean follows(Step step, boolean forward) {
+            return switch (direction) {
+                case OUTGOING -> step.outgoing() == forward;
+                case INCOMING -> step.outgoing() != forward;
+                case BOTH -> true;
+            };
+        }
+
+        private double cost(List<Step> steps) {
+            if (!weighted) {
+                return steps.size();
+            }
+            double cost = 0;
+            for (Step step : steps) {
+                cost += edgeCost(step);
+            }
+            return cost;
+        }
+
+        private double edgeCost(Step step) {
+            return weighted && !Double.isNaN(step.weight()) && step.weight() > 0 ? step.weight() : 1.0;
+        }
+
+        private boolean isExpired() {
+            if (!expired && (System.currentTimeMillis() > deadline || adjacency.timedOut())) {
+                expired = true;
+            }
+            return expired;
+        }
+
+        private static List<String> signature(Path path) {
+            List<String> signature = new ArrayList<>(path.nodes());
+            for (Step step : path.steps()) {
+                signature.add(step.type());
+            }
+            return signature;
+        }
+    }
+}
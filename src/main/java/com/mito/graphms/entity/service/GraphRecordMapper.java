@@ -0,0 +1,135 @@
+package com.mito.graphms.entity.service;
+
+import com.mito.graphms.domain.entity.GraphNode;
+import com.mito.graphms.domain.entity.GraphRelationship;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.types.MapAccessor;
+import org.neo4j.driver.types.TypeSystem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.neo4j.core.mapping.Neo4jMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Maps raw Bolt records to domain entities without going through the repositories,
+ * so that callers reading straight from the driver cursor get the same JSON shape
+ * as the repository based endpoints.
+ */
+@Component
+public class GraphRecordMapper {
+
+    private final BiFunction<TypeSystem, MapAccessor, GraphNode> nodeMappingFunction;
+
+    @Autowired
+    public GraphRecordMapper(Neo4jMappingContext mappingContext) {
+        this.nodeMappingFunction = mappingContext.getRequiredMappingFunctionFor(GraphNode.class);
+    }
+
+    /**
+     * Map a node value to a GraphNode. Relationship sets are left empty.
+     *
+     * @param value Bolt value holding an ITEM node
+     * @return Mapped node
+     */
+    public GraphNode toNode(Value value) {
+        return nodeMappingFunction.apply(TypeSystem.getDefault(), value);
+    }
+
+    /**
+     * Map a record of an arbitrary query to a column name to value map, in column order
+     *
+     * @param record Record of a custom query
+     * @return Row keyed by column name
+     */
+    public Map<String, Object> toRow(Record record) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String key : record.keys()) {
+            row.put(key, record.get(key).asObject());
+        }
+        return row;
+    }
+
+    /**
+     * Map a record returning {@code s, r, t} to a GraphRelationship
+     *
+     * @param record Record with source node, relationship and target node
+     * @return Mapped relationship
+     */
+    public GraphRelationship toRelationship(Record record) {
+        GraphRelationship relationship = toRelationship(record.get("r"));
+        relationship.setSourceNode(toNode(record.get("s")));
+        relationship.setTargetNode(toNode(record.get("t")));
+        return relationship;
+    }
+
+    /**
+     * Map a relationship value to a GraphRelationship without its endpoints
+     *
+     * @param rel Bolt value holding a relationship
+     * @return Mapped relationship, source and target nodes are null
+     */
+    @SuppressWarnings("deprecation")
+    public GraphRelationship toRelationship(Value rel) {
+        GraphRelationship relationship = new GraphRelationship();
+        // Deprecated, but GraphRelationship is keyed by the numeric ID (@GeneratedValue Long),
+        // which findRelationshipById and the keyset cursor ordered on id(r) rely on
+        relationship.setId(rel.asRelationship().id());
+        relationship.setType(rel.get("type").isNull() ? rel.asRelationship().type() : rel.get("type").asString());
+        if (!rel.get("weight").isNull()) relationship.setWeight(rel.get("weight").asInt());
+        if (!rel.get("description").isNull()) relationship.setDescription(rel.get("description").asString());
+        if (!rel.get("active").isNull()) relationship.setActive(rel.get("active").asBoolean());
+        if (!rel.get("priority").isNull()) relationship.setPriority(rel.get("priority").asString());
+        if (!rel.get("createdAt").isNull()) relationship.setCreatedAt(rel.get("createdAt").asLocalDateTime());
+        if (!rel.get("updatedAt").isNull()) relationship.setUpdatedAt(rel.get("updatedAt").asLocalDateTime());
+        return relationship;
+    }
+
+    /**
+     * Convert the scalar fields of a node to a map keyed by Neo4j property name.
+     * Null fields are left out so that {@code SET n += $props} never erases data.
+     *
+     * @param node Node to convert
+     * @return Property map suitable as Cypher parameter
+     */
+    public Map<String, Object> toProperties(GraphNode node) {
+        return toProperties(node, false);
+    }
+
+    /**
+     * Convert the scalar fields of a node to a map keyed by Neo4j property name
+     *
+     * @param node Node to convert
+     * @param includeNulls Whether null fields are kept, so that {@code SET n += $props} removes them
+     * @return Property map suitable as Cypher parameter
+     */
+    public Map<String, Object> toProperties(GraphNode node, boolean includeNulls) {
+        Map<String, Object> props = new LinkedHashMap<>();
+        put(props, "cbdb_id", node.getCbdbId(), includeNulls);
+        put(props, "name", node.getName(), includeNulls);
+        put(props, "itemType", node.getItemType(), includeNulls);
+        put(props, "importance", node.getImportance(), includeNulls);
+        put(props, "status", node.getStatus(), includeNulls);
+        if (includeNulls || node.getItemType() != null) {
+            props.put("isLink", node.getItemType() != null && node.getItemType().contains(":LINK:"));
+        }
+        put(props, "loc_id", node.getLocId(), includeNulls);
+        put(props, "loc_Lon", node.getLocationLon(), includeNulls);
+        put(props, "loc_Lat", node.getLocationLat(), includeNulls);
+        put(props, "itemIcon", node.getItemIcon(), includeNulls);
+        put(props, "Status", node.getStatusDetail(), includeNulls);
+        put(props, "numberOfIncidents", node.getNumberOfIncidents(), includeNulls);
+        put(props, "numberOfEvents", node.getNumberOfEvents(), includeNulls);
+        put(props, "numberOfPlanned", node.getNumberOfPlanned(), includeNulls);
+        return props;
+    }
+
+    private static void put(Map<String, Object> props, String key, Object value, boolean includeNulls) {
+        if (value != null || includeNulls) {
+            props.put(key, value);
+        }
+    }
+}
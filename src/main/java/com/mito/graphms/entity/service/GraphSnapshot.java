@@ -0,0 +1,280 @@
+package com.mito.graphms.entity.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable in-memory copy of the ITEM graph. Nodes are interned to dense int ids
+ * and the relationships of every type are stored in CSR (compressed sparse row)
+ * form, once per direction: {@code targets[offsets[n] .. offsets[n + 1])} are the
+ * neighbours of node {@code n}. Only what traversals need is kept: the node
+ * properties used for reporting and the relationship weight and active flag.
+ */
+public final class GraphSnapshot {
+
+    /**
+     * Callback for the relationships of a node
+     */
+    @FunctionalInterface
+    public interface EdgeVisitor {
+
+        /**
+         * @param neighbour Node on the other side of the relationship
+         * @param type Relationship type
+         * @param weight Relationship weight, NaN when not set
+         * @param active Relationship active flag, true when not set
+         */
+        void visit(int neighbour, String type, double weight, boolean active);
+    }
+
+    private final String[] cbdbIds;
+    private final String[] names;
+    private final String[] itemTypes;
+    private final String[] importances;
+    private final String[] statuses;
+    private final Map<String, Integer> index;
+    private final String[] types;
+    private final Csr[] outgoing;
+    private final Csr[] incoming;
+    private final long edgeCount;
+    private final long builtAt;
+
+    private GraphSnapshot(Builder builder) {
+        int size = builder.cbdbIds.size();
+        this.cbdbIds = builder.cbdbIds.toArray(new String[0]);
+        this.names = builder.names.toArray(new String[0]);
+        this.itemTypes = builder.itemTypes.toArray(new String[0]);
+        this.importances = builder.importances.toArray(new String[0]);
+        this.statuses = builder.statuses.toArray(new String[0]);
+        this.index = builder.index;
+        this.types = builder.edges.keySet().toArray(new String[0]);
+        this.outgoing = new Csr[types.length];
+        this.incoming = new Csr[types.length];
+        long edges = 0;
+        for (int t = 0; t < types.length; t++) {
+            EdgeBuffer buffer = builder.edges.get(types[t]);
+            outgoing[t] = Csr.of(size, buffer.sources, buffer.targets, buffer);
+            incoming[t] = Csr.of(size, buffer.targets, buffer.sources, buffer);
+            edges += buffer.size;
+        }
+        this.edgeCount = edges;
+        this.builtAt = System.currentTimeMillis();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param cbdbId CBDB ID of a node
+     * @return Interned id of the node, or -1 if it is not part of the snapshot
+     */
+    public int indexOf(String cbdbId) {
+        Integer id = index.get(cbdbId);
+        return id != null ? id : -1;
+    }
+
+    public int nodeCount() {
+        return cbdbIds.length;
+    }
+
+    public long edgeCount() {
+        return edgeCount;
+    }
+
+    public long builtAt() {
+        return builtAt;
+    }
+
+    public String cbdbId(int node) {
+        return cbdbIds[node];
+    }
+
+    public String name(int node) {
+        return names[node];
+    }
+
+    public String itemType(int node) {
+        return itemTypes[node];
+    }
+
+    public String importance(int node) {
+        return importances[node];
+    }
+
+    public String status(int node) {
+        return statuses[node];
+    }
+
+    /**
+     * @param node Interned node id
+     * @return Number of relationships of the node, both directions and all types
+     */
+    public int degree(int node) {
+        int degree = 0;
+        for (int t = 0; t < types.length; t++) {
+            degree += outgoing[t].offsets[node + 1] - outgoing[t].offsets[node];
+            degree += incoming[t].offsets[node + 1] - incoming[t].offsets[node];
+        }
+        return degree;
+    }
+
+    /**
+     * Visit the relationships of a node
+     *
+     * @param node Interned node id
+     * @param outgoingEdges true for outgoing relationships, false for incoming ones
+     * @param typeFilter Relationship types to visit, null for all
+     * @param visitor Callback invoked for every relationship
+     */
+    public void forEachEdge(int node, boolean outgoingEdges, Set<String> typeFilter, EdgeVisitor visitor) {
+        Csr[] csrs = outgoingEdges ? outgoing : incoming;
+        for (int t = 0; t < types.length; t++) {
+            if (typeFilter != null && !typeFilter.contains(types[t])) {
+                continue;
+            }
+            Csr csr = csrs[t];
+            for (int e = csr.offsets[node], end = csr.offsets[node + 1]; e < end; e++) {
+                visitor.visit(csr.targets[e], types[t], csr.weights[e], !csr.inactive.get(e));
+            }
+        }
+    }
+
+    /**
+     * Accumulates nodes and relationships, then sorts them into CSR arrays
+     */
+    public static final class Builder {
+
+        private final List<String> cbdbIds = new ArrayList<>();
+        private final List<String> names = new ArrayList<>();
+        private final List<String> itemTypes = new ArrayList<>();
+        private final List<String> importances = new ArrayList<>();
+        private final List<String> statuses = new ArrayList<>();
+        private final Map<String, Integer> index = new HashMap<>();
+        private final Map<String, EdgeBuffer> edges = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Add a node; a repeated CBDB ID updates the properties of the first one
+         */
+        public Builder addNode(String cbdbId, String name, String itemType, String importance, String status) {
+            Integer existing = index.get(cbdbId);
+            if (existing != null) {
+                names.set(existing, name);
+                itemTypes.set(existing, intern(itemType));
+                importances.set(existing, intern(importance));
+                statuses.set(existing, intern(status));
+                return this;
+            }
+            index.put(cbdbId, cbdbIds.size());
+            cbdbIds.add(cbdbId);
+            names.add(name);
+            itemTypes.add(intern(itemType));
+            importances.add(intern(importance));
+            statuses.add(intern(status));
+            return this;
+        }
+
+        // One shared copy of the few distinct type/importance/status values
+        private static String intern(String value) {
+            return value != null ? value.intern() : null;
+        }
+
+        /**
+         * Add a relationship between two nodes already added; unknown endpoints are ignored
+         *
+         * @return true if the relationship was added
+         */
+        public boolean addEdge(String sourceCbdbId, String targetCbdbId, String type, Double weight, Boolean active) {
+            Integer source = index.get(sourceCbdbId);
+            Integer target = index.get(targetCbdbId);
+            if (source == null || target == null) {
+                return false;
+            }
+            edges.computeIfAbsent(type, key -> new EdgeBuffer())
+                .add(source, target, weight != null ? weight.floatValue() : Float.NaN, active == null || active);
+            return true;
+        }
+
+        public GraphSnapshot build() {
+            return new GraphSnapshot(this);
+        }
+    }
+
+    /**
+     * Growable primitive arrays for the relationships of one type, in insertion order
+     */
+    private static final class EdgeBuffer {
+
+        private int[] sources = new int[1024];
+        private int[] targets = new int[1024];
+        private float[] weights = new float[1024];
+        private final BitSet inactive = new BitSet();
+        private int size;
+
+        void add(int source, int target, float weight, boolean active) {
+            if (size == sources.length) {
+                int capacity = size + (size >> 1);
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            weights[size] = weight;
+            if (!active) {
+                inactive.set(size);
+            }
+            size++;
+        }
+    }
+
+    private static final class Csr {
+
+        private final int[] offsets;
+        private final int[] targets;
+        private final float[] weights;
+        private final BitSet inactive;
+
+        private Csr(int[] offsets, int[] targets, float[] weights, BitSet inactive) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            this.inactive = inactive;
+        }
+
+        /**
+         * Counting sort of the buffered relationships by {@code from} node
+         */
+        static Csr of(int nodeCount, int[] from, int[] to, EdgeBuffer buffer) {
+            int[] offsets = new int[nodeCount + 1];
+            for (int e = 0; e < buffer.size; e++) {
+                offsets[from[e] + 1]++;
+            }
+            for (int n = 0; n < nodeCount; n++) {
+                offsets[n + 1] += offsets[n];
+            }
+            int[] cursor = Arrays.copyOf(offsets, nodeCount);
+            int[] targets = new int[buffer.size];
+            float[] weights = new float[buffer.size];
+            BitSet inactive = new BitSet(buffer.size);
+            for (int e = 0; e < buffer.size; e++) {
+                int slot = cursor[from[e]]++;
+                targets[slot] = to[e];
+                weights[slot] = buffer.weights[e];
+                if (buffer.inactive.get(e)) {
+                    inactive.set(slot);
+                }
+            }
+            return new Csr(offsets, targets, weights, inactive);
+        }
+    }
+}
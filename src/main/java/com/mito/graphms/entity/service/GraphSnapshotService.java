@@ -0,0 +1,487 @@
+package com.mito.graphms.entity.service;
+
+import com.mito.graphms.domain.entity.GraphNode;
+import com.mito.graphms.domain.entity.GraphRelationship;
+import com.mito.graphms.dto.TraversalDirection;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a {@link GraphSnapshot} of the whole graph in memory so that traversal
+ * heavy operations can run without a round trip per hop. The snapshot is rebuilt
+ * from Neo4j in the background at a fixed interval; writes made through this
+ * service are applied in between to a small overlay once their transaction has
+ * committed. Writes that bypass the service (custom Cypher queries, other
+ * applications) only become visible at the next resync.
+ * <p>
+ * Disabled by default ({@code mito.graph.snapshot.enabled}); while disabled or
+ * before the first build completes {@link #view()} is empty and callers fall back
+ * to Neo4j.
+ */
+@Service
+public class GraphSnapshotService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(GraphSnapshotService.class);
+
+    private static final String LOAD_NODES =
+        "MATCH (n:ITEM) WHERE n.cbdb_id IS NOT NULL " +
+        "RETURN n.cbdb_id AS cbdbId, n.name AS name, n.itemType AS itemType, " +
+        "       n.importance AS importance, n.status AS status";
+
+    private static final String LOAD_RELATIONSHIPS =
+        "MATCH (s:ITEM)-[r]->(t:ITEM) " +
+        "RETURN s.cbdb_id AS source, t.cbdb_id AS target, coalesce(r.type, type(r)) AS type, r.weight AS weight, r.active AS active";
+
+    /**
+     * Node properties kept by the snapshot
+     */
+    public record SnapshotNode(String cbdbId, String name, String itemType, String importance, String status) {
+    }
+
+    /**
+     * Callback for the relationships of a node in a {@link View}
+     */
+    @FunctionalInterface
+    public interface NeighbourVisitor {
+
+        /**
+         * @param neighbour CBDB ID of the node on the other side of the relationship
+         * @param type Relationship type
+         * @param weight Relationship weight, NaN when not set
+         * @param active Relationship active flag, true when not set
+         */
+        void visit(String neighbour, String type, double weight, boolean active);
+    }
+
+    private final Neo4jSessionFactory sessionFactory;
+    private final boolean enabled;
+    private final Duration resyncInterval;
+    private final int overlayLimit;
+    private final int fetchSize;
+    private final Timer buildTimer;
+
+    // Writers hold the read lock while applying a change, the rebuild takes the write lock to swap
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean resyncQueued = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler;
+    private volatile View current;
+    private Overlay pending;
+
+    @Autowired
+    public GraphSnapshotService(
+        Neo4jSessionFactory sessionFactory,
+        MeterRegistry meterRegistry,
+        @Value("${mito.graph.snapshot.enabled:false}") boolean enabled,
+        @Value("${mito.graph.snapshot.resync-interval:10m}") Duration resyncInterval,
+        @Value("${mito.graph.snapshot.overlay-limit:100000}") int overlayLimit,
+        @Value("${mito.graph.stream.fetch-size:1000}") int fetchSize
+    ) {
+        this.sessionFactory = sessionFactory;
+        this.enabled = enabled;
+        this.resyncInterval = resyncInterval;
+        this.overlayLimit = overlayLimit;
+        this.fetchSize = fetchSize;
+        this.buildTimer = Timer.builder("graph.snapshot.build").register(meterRegistry);
+        this.scheduler = enabled ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "graph-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        Gauge.builder("graph.snapshot.nodes", this, service -> service.current != null ? service.current.snapshot.nodeCount() : 0)
+            .register(meterRegistry);
+        Gauge.builder("graph.snapshot.relationships", this, service -> service.current != null ? service.current.snapshot.edgeCount() : 0)
+            .register(meterRegistry);
+        Gauge.builder("graph.snapshot.overlay", this, service -> service.current != null ? service.current.overlay.size.get() : 0)
+            .register(meterRegistry);
+    }
+
+    /**
+     * First build once the application is up, then resync at the configured interval
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::rebuild, 0, resyncInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @return Current snapshot plus overlay, empty while disabled or not yet built
+     */
+    public Optional<View> view() {
+        return Optional.ofNullable(current);
+    }
+
+    /**
+     * Schedule a rebuild ahead of the regular interval, e.g. after a bulk import
+     */
+    public void requestResync() {
+        if (enabled && resyncQueued.compareAndSet(false, true)) {
+            scheduler.execute(this::rebuild);
+        }
+    }
+
+    public void nodeWritten(GraphNode node) {
+        if (node != null && node.getCbdbId() != null) {
+            SnapshotNode written = new SnapshotNode(
+                node.getCbdbId(), node.getName(), node.getItemType(), node.getImportance(), node.getStatus()
+            );
+            apply(overlay -> overlay.putNode(written));
+        }
+    }
+
+    /**
+     * Partial node write, as done by the bulk upsert: absent keys keep their value
+     *
+     * @param properties Neo4j properties of the node, including {@code cbdb_id}
+     */
+    public void nodePropertiesWritten(Map<String, Object> properties) {
+        Object cbdbId = properties.get("cbdb_id");
+        if (cbdbId == null) {
+            return;
+        }
+        apply(overlay -> {
+            SnapshotNode previous = nodeOf(overlay, cbdbId.toString());
+            overlay.putNode(new SnapshotNode(
+                cbdbId.toString(),
+                stringOr(properties, "name", previous != null ? previous.name() : null),
+                stringOr(properties, "itemType", previous != null ? previous.itemType() : null),
+                stringOr(properties, "importance", previous != null ? previous.importance() : null),
+                stringOr(properties, "status", previous != null ? previous.status() : null)
+            ));
+        });
+    }
+
+    public void nodeDeleted(String cbdbId) {
+        if (cbdbId != null) {
+            apply(overlay -> overlay.deleteNode(cbdbId));
+        }
+    }
+
+    public void relationshipWritten(GraphRelationship relationship) {
+        if (relationship != null && relationship.getSourceNode() != null && relationship.getTargetNode() != null) {
+            relationshipWritten(
+                relationship.getSourceNode().getCbdbId(),
+                relationship.getTargetNode().getCbdbId(),
+                relationship.getType(),
+                relationship.getWeight(),
+                relationship.getActive()
+            );
+        }
+    }
+
+    public void relationshipWritten(String sourceCbdbId, String targetCbdbId, String type, Number weight, Boolean active) {
+        if (sourceCbdbId != null && targetCbdbId != null && type != null) {
+            EdgeState state = new EdgeState(weight != null ? weight.doubleValue() : Double.NaN, active == null || active, true);
+            apply(overlay -> overlay.putEdge(new EdgeKey(sourceCbdbId, targetCbdbId, type), state));
+        }
+    }
+
+    public void relationshipDeleted(String sourceCbdbId, String targetCbdbId, String type) {
+        if (sourceCbdbId != null && targetCbdbId != null && type != null) {
+            apply(overlay -> overlay.putEdge(new EdgeKey(sourceCbdbId, targetCbdbId, type), EdgeState.REMOVED));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Apply a change once the surrounding transaction (if any) has committed, to the
+     * live overlay and to the one collecting changes for a rebuild in progress
+     */
+    private void apply(Consumer<Overlay> change) {
+        if (!enabled) {
+            return;
+        }
+        Runnable task = () -> {
+            swapLock.readLock().lock();
+            try {
+                View view = current;
+                if (view != null) {
+                    change.accept(view.overlay);
+                }
+                if (pending != null) {
+                    change.accept(pending);
+                }
+            } finally {
+                swapLock.readLock().unlock();
+            }
+            View view = current;
+            if (view != null && view.overlay.size.get() > overlayLimit) {
+                requestResync();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * Load a fresh snapshot. Changes committed while loading are collected in a new
+     * overlay that replaces the old one together with the snapshot: they may or may
+     * not be part of the load, and applying them twice is harmless.
+     */
+    private void rebuild() {
+        resyncQueued.set(false);
+        swapLock.writeLock().lock();
+        try {
+            pending = new Overlay();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        try {
+            long start = System.nanoTime();
+            GraphSnapshot snapshot = load();
+            buildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            swapLock.writeLock().lock();
+            try {
+                current = new View(snapshot, pending);
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            log.info("Graph snapshot built: {} nodes, {} relationships in {} ms",
+                snapshot.nodeCount(), snapshot.edgeCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            log.warn("Graph snapshot rebuild failed, keeping the previous one", e);
+        } finally {
+            swapLock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        }
+    }
+
+    private GraphSnapshot load() {
+        try (Session session = sessionFactory.readSession(fetchSize)) {
+            // Nodes and relationships are read in the same transaction, so both come from one state
+            return session.executeRead(tx -> {
+                GraphSnapshot.Builder builder = GraphSnapshot.builder();
+                Result nodes = tx.run(LOAD_NODES);
+                while (nodes.hasNext()) {
+                    Record record = nodes.next();
+                    builder.addNode(
+                        record.get("cbdbId").asString(),
+                        record.get("name").asString(null),
+                        record.get("itemType").asString(null),
+                        record.get("importance").asString(null),
+                        record.get("status").asString(null)
+                    );
+                }
+                Result relationships = tx.run(LOAD_RELATIONSHIPS);
+                while (relationships.hasNext()) {
+                    Record record = relationships.next();
+                    builder.addEdge(
+                        record.get("source").asString(null),
+                        record.get("target").asString(null),
+                        record.get("type").asString(),
+                        record.get("weight").isNull() ? null : record.get("weight").asDouble(),
+                        record.get("active").isNull() ? null : record.get("active").asBoolean()
+                    );
+                }
+                return builder.build();
+            });
+        }
+    }
+
+    // The live view already holds the merged node when the pending overlay is updated
+    private SnapshotNode nodeOf(Overlay overlay, String cbdbId) {
+        View view = current;
+        return view != null ? view.node(cbdbId) : overlay.nodes.get(cbdbId);
+    }
+
+    private static String stringOr(Map<String, Object> properties, String key, String fallback) {
+        if (!properties.containsKey(key)) {
+            return fallback;
+        }
+        Object value = properties.get(key);
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Consistent read view: an immutable snapshot plus the changes applied after it
+     */
+    public static final class View {
+
+        private final GraphSnapshot snapshot;
+        private final Overlay overlay;
+
+        private View(GraphSnapshot snapshot, Overlay overlay) {
+            this.snapshot = snapshot;
+            this.overlay = overlay;
+        }
+
+        public long builtAt() {
+            return snapshot.builtAt();
+        }
+
+        public boolean contains(String cbdbId) {
+            return overlay.nodes.containsKey(cbdbId)
+                || (!overlay.deleted.contains(cbdbId) && snapshot.indexOf(cbdbId) >= 0);
+        }
+
+        /**
+         * @param cbdbId CBDB ID of a node
+         * @return Node properties, null if the node does not exist
+         */
+        public SnapshotNode node(String cbdbId) {
+            SnapshotNode written = overlay.nodes.get(cbdbId);
+            if (written != null || overlay.deleted.contains(cbdbId)) {
+                return written;
+            }
+            int node = snapshot.indexOf(cbdbId);
+            if (node < 0) {
+                return null;
+            }
+            return new SnapshotNode(
+                cbdbId, snapshot.name(node), snapshot.itemType(node), snapshot.importance(node), snapshot.status(node)
+            );
+        }
+
+        /**
+         * @param cbdbId CBDB ID of a node
+         * @return Number of relationships of the node as of the last build
+         */
+        public int degree(String cbdbId) {
+            int node = snapshot.indexOf(cbdbId);
+            return node >= 0 ? snapshot.degree(node) : 0;
+        }
+
+        /**
+         * Visit the relationships of a node
+         *
+         * @param cbdbId CBDB ID of the node
+         * @param direction Relationships to follow
+         * @param types Relationship types to follow, null for all
+         * @param visitor Callback invoked once per relationship
+         */
+        public void forEachNeighbour(String cbdbId, TraversalDirection direction, Set<String> types, NeighbourVisitor visitor) {
+            if (!contains(cbdbId)) {
+                return;
+            }
+            if (direction != TraversalDirection.INCOMING) {
+                visit(cbdbId, true, types, visitor);
+            }
+            if (direction != TraversalDirection.OUTGOING) {
+                visit(cbdbId, false, types, visitor);
+            }
+        }
+
+        private void visit(String cbdbId, boolean outgoing, Set<String> types, NeighbourVisitor visitor) {
+            int node = snapshot.indexOf(cbdbId);
+            if (node >= 0 && !overlay.deleted.contains(cbdbId)) {
+                boolean clean = overlay.deleted.isEmpty() && overlay.edges.isEmpty();
+                snapshot.forEachEdge(node, outgoing, types, (neighbour, type, weight, active) -> {
+                    String other = snapshot.cbdbId(neighbour);
+                    // Relationships touched after the build are reported from the overlay instead
+                    if (clean || (!overlay.deleted.contains(other) && !overlay.edges.containsKey(
+                        outgoing ? new EdgeKey(cbdbId, other, type) : new EdgeKey(other, cbdbId, type)))) {
+                        visitor.visit(other, type, weight, active);
+                    }
+                });
+            }
+            Set<EdgeKey> written = (outgoing ? overlay.outgoing : overlay.incoming).get(cbdbId);
+            if (written != null) {
+                for (EdgeKey key : written) {
+                    EdgeState state = overlay.edges.get(key);
+                    String other = outgoing ? key.target() : key.source();
+                    if (state != null && state.present() && (types == null || types.contains(key.type())) && contains(other)) {
+                        visitor.visit(other, key.type(), state.weight(), state.active());
+                    }
+                }
+            }
+        }
+    }
+
+    private record EdgeKey(String source, String target, String type) {
+    }
+
+    private record EdgeState(double weight, boolean active, boolean present) {
+        static final EdgeState REMOVED = new EdgeState(Double.NaN, false, false);
+    }
+
+    /**
+     * Changes applied since a snapshot was built. A deleted node keeps its entry in
+     * {@code deleted} even if it is created again, because the relationships the
+     * snapshot holds for it were removed with it.
+     */
+    private static final class Overlay {
+
+        private final Map<String, SnapshotNode> nodes = new ConcurrentHashMap<>();
+        private final Set<String> deleted = ConcurrentHashMap.newKeySet();
+        private final Map<EdgeKey, EdgeState> edges = new ConcurrentHashMap<>();
+        private final Map<String, Set<EdgeKey>> outgoing = new ConcurrentHashMap<>();
+        private final Map<String, Set<EdgeKey>> incoming = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        void putNode(SnapshotNode node) {
+            if (nodes.put(node.cbdbId(), node) == null) {
+                size.incrementAndGet();
+            }
+        }
+
+        void deleteNode(String cbdbId) {
+            nodes.remove(cbdbId);
+            if (deleted.add(cbdbId)) {
+                size.incrementAndGet();
+            }
+            removeAll(outgoing.get(cbdbId));
+            removeAll(incoming.get(cbdbId));
+        }
+
+        void putEdge(EdgeKey key, EdgeState state) {
+            if (edges.put(key, state) == null) {
+                size.incrementAndGet();
+                outgoing.computeIfAbsent(key.source(), k -> ConcurrentHashMap.newKeySet()).add(key);
+                incoming.computeIfAbsent(key.target(), k -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+        }
+
+        private void removeAll(Set<EdgeKey> keys) {
+            if (keys != null) {
+                keys.forEach(key -> edges.put(key, EdgeState.REMOVED));
+            }
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package com.mito.graphms.entity.service;
+
+import com.mito.graphms.domain.entity.GraphNode;
+import com.mito.graphms.dto.GraphStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.TransactionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Item counters for the overview dashboard (counts by item type, status,
+ * importance and location, sums of incidents, events and planned works), kept in
+ * memory and updated with the difference between the old and new state of every
+ * node written through the service, so that reading them costs no query.
+ * <p>
+ * Writes that bypass the per-node deltas (bulk imports, custom Cypher, other
+ * applications) are caught by a reconciliation that recounts everything from Neo4j
+ * in the background at a fixed interval, and earlier when requested. A change
+ * committed while a recount is running may be counted twice or missed; the next
+ * reconciliation corrects it.
+ */
+@Service
+public class GraphStatsService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(GraphStatsService.class);
+
+    /**
+     * Cypher map projection of the counted properties of {@code n}, read by {@link NodeFacts#of(org.neo4j.driver.Value)}
+     */
+    public static final String FACTS =
+        "n {.itemType, .status, .importance, .loc_id, .numberOfIncidents, .numberOfEvents, .numberOfPlanned}";
+
+    private static final String UNSET = "(unset)";
+
+    private static final String COUNT_TOTALS =
+        "MATCH (n:ITEM) RETURN count(n) AS total, " +
+        "sum(coalesce(n.numberOfIncidents, 0)) AS incidents, " +
+        "sum(coalesce(n.numberOfEvents, 0)) AS events, " +
+        "sum(coalesce(n.numberOfPlanned, 0)) AS planned";
+
+    // The property name is one of the fixed dimensions below, never user input
+    private static final String COUNT_BY = "MATCH (n:ITEM) RETURN n.%s AS key, count(n) AS count";
+
+    /**
+     * Counted properties of a node, null for a node that does not exist
+     */
+    public record NodeFacts(
+        String itemType,
+        String status,
+        String importance,
+        String locId,
+        long incidents,
+        long events,
+        long planned
+    ) {
+
+        public static NodeFacts of(GraphNode node) {
+            return node == null ? null : new NodeFacts(
+                node.getItemType(),
+                node.getStatus(),
+                node.getImportance(),
+                node.getLocId(),
+                valueOf(node.getNumberOfIncidents()),
+                valueOf(node.getNumberOfEvents()),
+                valueOf(node.getNumberOfPlanned())
+            );
+        }
+
+        /**
+         * @param value Map returned by the {@link #FACTS} projection
+         */
+        public static NodeFacts of(org.neo4j.driver.Value value) {
+            return value == null || value.isNull() ? null : new NodeFacts(
+                value.get("itemType").asString(null),
+                value.get("status").asString(null),
+                value.get("importance").asString(null),
+                value.get("loc_id").asString(null),
+                value.get("numberOfIncidents").asLong(0),
+                value.get("numberOfEvents").asLong(0),
+                value.get("numberOfPlanned").asLong(0)
+            );
+        }
+
+        private static long valueOf(Integer count) {
+            return count != null ? count : 0;
+        }
+    }
+
+    private final Neo4jSessionFactory sessionFactory;
+    private final boolean enabled;
+    private final Duration reconcileInterval;
+    private final Duration minReconcileInterval;
+    private final Timer reconcileTimer;
+
+    // Writers hold the read lock while applying a delta, the reconciliation takes the write lock to swap
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean reconcileQueued = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler;
+    private volatile Counters current = new Counters();
+    private volatile Instant reconciledAt;
+    private volatile long lastReconcileNanos = System.nanoTime() - Long.MAX_VALUE / 2;
+    private Counters pending;
+
+    @Autowired
+    public GraphStatsService(
+        Neo4jSessionFactory sessionFactory,
+        MeterRegistry meterRegistry,
+        @Value("${mito.graph.stats.enabled:true}") boolean enabled,
+        @Value("${mito.graph.stats.reconcile-interval:5m}") Duration reconcileInterval,
+        @Value("${mito.graph.stats.min-reconcile-interval:30s}") Duration minReconcileInterval
+    ) {
+        this.sessionFactory = sessionFactory;
+        this.enabled = enabled;
+        this.reconcileInterval = reconcileInterval;
+        this.minReconcileInterval = minReconcileInterval;
+        this.reconcileTimer = Timer.builder("graph.stats.reconcile").register(meterRegistry);
+        this.scheduler = enabled ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "graph-stats");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        Gauge.builder("graph.stats.nodes", this, service -> service.current.total.sum()).register(meterRegistry);
+    }
+
+    /**
+     * First count once the application is up, then reconcile at the configured interval
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::reconcile, 0, reconcileInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * @return Current counters
+     */
+    public GraphStats stats() {
+        Counters counters = current;
+        return new GraphStats(
+            counters.total.sum(),
+            snapshot(counters.byItemType),
+            snapshot(counters.byStatus),
+            snapshot(counters.byImportance),
+            snapshot(counters.byLocId),
+            counters.incidents.sum(),
+            counters.events.sum(),
+            counters.planned.sum(),
+            reconciledAt
+        );
+    }
+
+    /**
+     * Apply the change of a node once the surrounding transaction (if any) has committed
+     *
+     * @param before State before the write, null for a created node
+     * @param after State after the write, null for a deleted node
+     */
+    public void nodeChanged(NodeFacts before, NodeFacts after) {
+        if ((before == null && after == null) || (before != null && before.equals(after))) {
+            return;
+        }
+        apply(counters -> counters.apply(before, after));
+    }
+
+    /**
+     * Apply counter increments of existing nodes once the surrounding transaction (if any)
+     * has committed; the per-dimension counts do not change
+     *
+     * @param incidents Total increment of numberOfIncidents
+     * @param events Total increment of numberOfEvents
+     * @param planned Total increment of numberOfPlanned
+     */
+    public void countersChanged(long incidents, long events, long planned) {
+        if (incidents == 0 && events == 0 && planned == 0) {
+            return;
+        }
+        apply(counters -> {
+            counters.incidents.add(incidents);
+            counters.events.add(events);
+            counters.planned.add(planned);
+        });
+    }
+
+    private void apply(Consumer<Counters> change) {
+        if (!enabled) {
+            return;
+        }
+        Runnable task = () -> {
+            swapLock.readLock().lock();
+            try {
+                change.accept(current);
+                if (pending != null) {
+                    change.accept(pending);
+                }
+            } finally {
+                swapLock.readLock().unlock();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * Schedule a reconciliation ahead of the regular interval, e.g. after a bulk import.
+     * Requests are folded together and spaced by at least the configured minimum interval.
+     */
+    public void requestReconcile() {
+        if (enabled && reconcileQueued.compareAndSet(false, true)) {
+            long wait = minReconcileInterval.toNanos() - (System.nanoTime() - lastReconcileNanos);
+            scheduler.schedule(this::reconcile, Math.max(0, wait), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Recount from Neo4j. Deltas committed meanwhile are collected separately and
+     * added to the fresh counters, which then replace the live ones.
+     */
+    private void reconcile() {
+        reconcileQueued.set(false);
+        lastReconcileNanos = System.nanoTime();
+        swapLock.writeLock().lock();
+        try {
+            pending = new Counters();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        try {
+            long start = System.nanoTime();
+            Counters counted = load();
+            reconcileTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            long drift;
+            swapLock.writeLock().lock();
+            try {
+                counted.add(pending);
+                drift = counted.total.sum() - current.total.sum();
+                current = counted;
+                reconciledAt = Instant.now();
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            log.info("Graph stats reconciled: {} nodes ({} from the incremental count) in {} ms",
+                counted.total.sum(), drift, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            log.warn("Graph stats reconciliation failed, keeping the incremental counters", e);
+        } finally {
+            swapLock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        }
+    }
+
+    private Counters load() {
+        try (Session session = sessionFactory.readSession()) {
+            return session.executeRead(tx -> {
+                Counters counters = new Counters();
+                Record totals = tx.run(COUNT_TOTALS).single();
+                counters.total.add(totals.get("total").asLong());
+                counters.incidents.add(totals.get("incidents").asLong());
+                counters.events.add(totals.get("events").asLong());
+                counters.planned.add(totals.get("planned").asLong());
+                loadDimension(tx, "itemType", counters.byItemType);
+                loadDimension(tx, "status", counters.byStatus);
+                loadDimension(tx, "importance", counters.byImportance);
+                loadDimension(tx, "loc_id", counters.byLocId);
+                return counters;
+            });
+        }
+    }
+
+    private static void loadDimension(TransactionContext tx, String property, Map<String, LongAdder> target) {
+        tx.run(String.format(COUNT_BY, property)).forEachRemaining(record ->
+            adder(target, record.get("key").isNull() ? null : record.get("key").asObject().toString())
+                .add(record.get("count").asLong()));
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((key, count) -> {
+            long value = count.sum();
+            if (value != 0) {
+                values.put(key, value);
+            }
+        });
+        return values;
+    }
+
+    private static LongAdder adder(Map<String, LongAdder> counters, String key) {
+        return counters.computeIfAbsent(key != null ? key : UNSET, ignored -> new LongAdder());
+    }
+
+    private static final class Counters {
+
+        private final LongAdder total = new LongAdder();
+        private final LongAdder incidents = new LongAdder();
+        private final LongAdder events = new LongAdder();
+        private final LongAdder planned = new LongAdder();
+        private final Map<String, LongAdder> byItemType = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> byStatus = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> byImportance = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> byLocId = new ConcurrentHashMap<>();
+
+        private void apply(NodeFacts before, NodeFacts after) {
+            if (before != null) {
+                count(before, -1);
+            }
+            if (after != null) {
+                count(after, 1);
+            }
+        }
+
+        private void count(NodeFacts facts, int sign) {
+            total.add(sign);
+            incidents.add(sign * facts.incidents());
+            events.add(sign * facts.events());
+            planned.add(sign * facts.planned());
+            adder(byItemType, facts.itemType()).add(sign);
+            adder(byStatus, facts.status()).add(sign);
+            adder(byImportance, facts.importance()).add(sign);
+            adder(byLocId, facts.locId()).add(sign);
+        }
+
+        private void add(Counters other) {
+            total.add(other.total.sum());
+            incidents.add(other.incidents.sum());
+            events.add(other.events.sum());
+            planned.add(other.planned.sum());
+            other.byItemType.forEach((key, count) -> adder(byItemType, key).add(count.sum()));
+            other.byStatus.forEach((key, count) -> adder(byStatus, key).add(count.sum()));
+            other.byImportance.forEach((key, count) -> adder(byImportance, key).add(count.sum()));
+            other.byLocId.forEach((key, count) -> adder(byLocId, key).add(count.sum()));
+        }
+    }
+}
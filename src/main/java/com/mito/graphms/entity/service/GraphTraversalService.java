@@ -0,0 +1,156 @@
+package com.mito.graphms.entity.service;
+
+import com.mito.graphms.domain.entity.GraphNode;
+import com.mito.graphms.domain.entity.GraphRelationship;
+import com.mito.graphms.domain.repository.GraphNodeRepository;
+import com.mito.graphms.dto.GraphNodeView;
+import com.mito.graphms.dto.SubgraphEdge;
+import com.mito.graphms.dto.SubgraphView;
+import com.mito.graphms.dto.TraversalDirection;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Values;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Server-side graph traversals, so that clients get a whole neighbourhood in one
+ * request instead of walking relationships hop by hop.
+ */
+@Service
+public class GraphTraversalService {
+
+    private static final String EXPAND =
+        "UNWIND $frontier AS cbdbId " +
+        "MATCH (n:ITEM {cbdb_id: cbdbId})%s(m:ITEM) " +
+        "WHERE (m.cbdb_id IS NULL OR NOT m.cbdb_id IN $exclude) " +
+        "  AND ($types IS NULL OR coalesce(r.type, type(r)) IN $types) " +
+        "WITH DISTINCT r LIMIT $edgeLimit " +
+        "RETURN startNode(r) AS s, r, endNode(r) AS t";
+
+    private final Neo4jSessionFactory sessionFactory;
+    private final GraphNodeRepository nodeRepository;
+    private final GraphNodeCache nodeCache;
+    private final GraphRecordMapper recordMapper;
+
+    @Value("${mito.graph.neighbourhood.default-depth:2}")
+    private int defaultDepth;
+
+    @Value("${mito.graph.neighbourhood.max-depth:5}")
+    private int maxDepth;
+
+    @Value("${mito.graph.neighbourhood.max-nodes:2000}")
+    private int maxNodes;
+
+    @Value("${mito.graph.neighbourhood.max-edges:5000}")
+    private int maxEdges;
+
+    @Autowired
+    public GraphTraversalService(
+        Neo4jSessionFactory sessionFactory,
+        GraphNodeRepository nodeRepository,
+        GraphNodeCache nodeCache,
+        GraphRecordMapper recordMapper
+    ) {
+        this.sessionFactory = sessionFactory;
+        this.nodeRepository = nodeRepository;
+        this.nodeCache = nodeCache;
+        this.recordMapper = recordMapper;
+    }
+
+    /**
+     * Compute the k-hop neighbourhood of a node breadth first, one query per hop over
+     * the distinct nodes reached by the previous hop. A hop is included whole or not
+     * at all: when it would exceed the node or edge cap the traversal stops before it,
+     * {@code truncated} is set and {@code depth} tells how many hops are complete.
+     *
+     * @param cbdbId CBDB ID of the root node
+     * @param depth Maximum number of hops, capped to the configured maximum
+     * @param direction Direction of the relationships to follow
+     * @param types Relationship types to follow, null or empty for all
+     * @param limit Maximum number of nodes, capped to the configured maximum
+     * @return Optional subgraph, empty if the root node does not exist
+     */
+    public Optional<SubgraphView> findNeighbourhood(
+        String cbdbId,
+        Integer depth,
+        TraversalDirection direction,
+        List<String> types,
+        Integer limit
+    ) {
+        Optional<GraphNode> root = nodeCache.getByCbdbId(cbdbId, nodeRepository::findShallowByCbdbId);
+        if (root.isEmpty()) {
+            return Optional.empty();
+        }
+
+        int hops = depth == null || depth <= 0 ? defaultDepth : Math.min(depth, maxDepth);
+        int nodeCap = limit == null || limit <= 0 ? maxNodes : Math.min(limit, maxNodes);
+        TraversalDirection traversal = direction != null ? direction : TraversalDirection.BOTH;
+        String query = String.format(EXPAND, traversal.pattern("[r]"));
+
+        SubgraphView subgraph = new SubgraphView(cbdbId);
+        Map<String, GraphNodeView> nodes = new LinkedHashMap<>();
+        nodes.put(cbdbId, GraphNodeView.of(root.get()));
+        // Nodes expanded before the current hop: undirected edges to them were already returned
+        List<String> expanded = new ArrayList<>();
+        List<String> frontier = List.of(cbdbId);
+
+        try (Session session = sessionFactory.readSession(maxEdges)) {
+            for (int hop = 1; hop <= hops && !frontier.isEmpty(); hop++) {
+                int edgeBudget = maxEdges - subgraph.getEdges().size();
+                Result result = session.run(query, Values.parameters(
+                    "frontier", frontier,
+                    "exclude", traversal == TraversalDirection.BOTH ? expanded : List.of(),
+                    "types", types == null || types.isEmpty() ? null : types,
+                    "edgeLimit", edgeBudget + 1L
+                ));
+                List<GraphRelationship> relationships = result.list(recordMapper::toRelationship);
+                if (relationships.size() > edgeBudget) {
+                    subgraph.setTruncated(true);
+                    break;
+                }
+
+                Map<String, GraphNodeView> reached = new LinkedHashMap<>();
+                for (GraphRelationship relationship : relationships) {
+                    for (GraphNode node : List.of(relationship.getSourceNode(), relationship.getTargetNode())) {
+                        String key = keyOf(node);
+                        if (!nodes.containsKey(key)) {
+                            reached.putIfAbsent(key, GraphNodeView.of(node));
+                        }
+                    }
+                }
+                if (nodes.size() + reached.size() > nodeCap) {
+                    subgraph.setTruncated(true);
+                    break;
+                }
+
+                nodes.putAll(reached);
+                for (GraphRelationship relationship : relationships) {
+                    subgraph.getEdges().add(new SubgraphEdge(
+                        relationship, keyOf(relationship.getSourceNode()), keyOf(relationship.getTargetNode())));
+                }
+                subgraph.setDepth(hop);
+                expanded.addAll(frontier);
+                frontier = reached.values().stream()
+                    .map(GraphNodeView::getCbdbId)
+                    .filter(Objects::nonNull)
+                    .toList();
+            }
+        }
+
+        subgraph.getNodes().addAll(nodes.values());
+        return Optional.of(subgraph);
+    }
+
+    private static String keyOf(GraphNode node) {
+        return node.getCbdbId() != null ? node.getCbdbId() : node.getId();
+    }
+}
@@ -0,0 +1,261 @@
+package com.mito.graphms.entity.service;
+
+import com.mito.graphms.dto.ImpactReport;
+import com.mito.graphms.dto.ImpactRequest;
+import com.mito.graphms.dto.ImpactedItem;
+import com.mito.graphms.dto.TraversalDirection;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Values;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Blast radius computation: a bounded breadth-first search from one or more failed
+ * items over active relationships. Each hop is a single UNWIND query over the whole
+ * frontier, so a 5-hop analysis costs 5 round trips regardless of how many items
+ * are reached. Impact scores decay per hop, scale with the relationship weight and
+ * are multiplied by the importance of the reached item.
+ * <p>
+ * When the in-memory {@link GraphSnapshotService snapshot} is available the hops
+ * are expanded from it instead, without any query.
+ */
+@Service
+public class ImpactAnalysisService {
+
+    private static final String EXPAND =
+        "UNWIND $frontier AS cbdbId " +
+        "MATCH (n:ITEM {cbdb_id: cbdbId})%s(m:ITEM) " +
+        "WHERE coalesce(r.active, true) AND ($types IS NULL OR coalesce(r.type, type(r)) IN $types) " +
+        "RETURN n.cbdb_id AS from, r.weight AS weight, m.cbdb_id AS cbdbId, m.name AS name, " +
+        "       m.itemType AS itemType, m.importance AS importance, m.status AS status";
+
+    private final Neo4jSessionFactory sessionFactory;
+    private final GraphSnapshotService snapshotService;
+
+    @Value("${mito.graph.impact.default-depth:5}")
+    private int defaultDepth;
+
+    @Value("${mito.graph.impact.max-depth:10}")
+    private int maxDepth;
+
+    @Value("${mito.graph.impact.max-affected:100000}")
+    private int maxAffected;
+
+    @Value("${mito.graph.impact.hop-decay:0.8}")
+    private double hopDecay;
+
+    @Value("${mito.graph.impact.weight-scale:10}")
+    private double weightScale;
+
+    private final Map<String, Double> importanceWeights = new HashMap<>();
+
+    @Autowired
+    public ImpactAnalysisService(
+        Neo4jSessionFactory sessionFactory,
+        GraphSnapshotService snapshotService,
+        @Value("${mito.graph.impact.importance-weights:HIGH:3,MEDIUM:2,LOW:1}") String importanceWeights
+    ) {
+        this.sessionFactory = sessionFactory;
+        this.snapshotService = snapshotService;
+        for (String entry : importanceWeights.split(",")) {
+            String[] pair = entry.split(":");
+            if (pair.length == 2) {
+                this.importanceWeights.put(pair[0].trim().toUpperCase(Locale.ROOT), Double.parseDouble(pair[1].trim()));
+            }
+        }
+    }
+
+    /**
+     * Run an impact analysis, handing every affected item to the consumer as soon
+     * as its hop has been expanded
+     *
+     * @param request Failed items and traversal options
+     * @param consumer Callback invoked once per affected item, in BFS order
+     * @return Aggregated report, without the item list
+     */
+    public ImpactReport analyse(ImpactRequest request, Consumer<? super ImpactedItem> consumer) {
+        long start = System.currentTimeMillis();
+        List<String> failed = request.getFailedCbdbIds() != null ? request.getFailedCbdbIds() : List.of();
+        ImpactReport report = new ImpactReport(failed);
+
+        int hops = request.getMaxDepth() == null || request.getMaxDepth() <= 0
+            ? defaultDepth
+            : Math.min(request.getMaxDepth(), maxDepth);
+        TraversalDirection direction = request.getDirection() != null ? request.getDirection() : TraversalDirection.OUTGOING;
+        List<String> types = request.getTypes() == null || request.getTypes().isEmpty() ? null : request.getTypes();
+        Optional<GraphSnapshotService.View> snapshot = snapshotService.view();
+
+        // Score of every visited item; the failed items are the sources with score 1
+        Map<String, Double> visited = new HashMap<>();
+        Map<String, Double> frontier = new LinkedHashMap<>();
+        for (String cbdbId : failed) {
+            visited.put(cbdbId, 1.0);
+            frontier.put(cbdbId, 1.0);
+        }
+
+        Session session = snapshot.isPresent() ? null : sessionFactory.readSession();
+        try {
+            HopExpander expander = snapshot.isPresent()
+                ? snapshotExpander(snapshot.get(), direction, types)
+                : neo4jExpander(session, direction, types);
+            for (int depth = 1; depth <= hops && !frontier.isEmpty() && !report.isTruncated(); depth++) {
+                // Best path strength per newly reached item at this hop
+                Map<String, ImpactedItem> reached = new LinkedHashMap<>();
+                Map<String, Double> strengths = new HashMap<>();
+                Map<String, Double> sources = frontier;
+                int hop = depth;
+                expander.expand(sources.keySet(), visited::containsKey, (from, weight, node) -> {
+                    double strength = sources.get(from) * hopDecay * edgeFactor(weight);
+                    Double best = strengths.get(node.cbdbId());
+                    if (best == null || best < strength) {
+                        strengths.put(node.cbdbId(), strength);
+                        reached.put(node.cbdbId(), new ImpactedItem(
+                            node.cbdbId(),
+                            node.name(),
+                            node.itemType(),
+                            node.importance(),
+                            node.status(),
+                            hop,
+                            from,
+                            strength * importanceWeight(node.importance())
+                        ));
+                    }
+                });
+
+                frontier = new LinkedHashMap<>();
+                for (ImpactedItem item : reached.values()) {
+                    if (report.getAffectedCount() >= maxAffected) {
+                        report.setTruncated(true);
+                        break;
+                    }
+                    // Propagate the path strength, not the importance of the intermediate item
+                    double strength = strengths.get(item.getCbdbId());
+                    visited.put(item.getCbdbId(), strength);
+                    frontier.put(item.getCbdbId(), strength);
+                    report.add(item);
+                    consumer.accept(item);
+                }
+            }
+        } finally {
+            if (session != null) {
+                session.close();
+            }
+        }
+
+        report.setElapsedMillis(System.currentTimeMillis() - start);
+        return report;
+    }
+
+    /**
+     * Run an impact analysis and return the report including the affected items
+     *
+     * @param request Failed items and traversal options
+     * @return Aggregated report with the affected items in BFS order
+     */
+    public ImpactReport analyse(ImpactRequest request) {
+        List<ImpactedItem> items = new ArrayList<>();
+        ImpactReport report = analyse(request, items::add);
+        report.setItems(items);
+        return report;
+    }
+
+    /**
+     * One hop per frontier: one UNWIND query over all the frontier items
+     */
+    private HopExpander neo4jExpander(Session session, TraversalDirection direction, List<String> types) {
+        String query = String.format(EXPAND, direction.pattern("[r]"));
+        return (frontier, visited, visitor) -> {
+            Result result = session.run(query, Values.parameters(
+                "frontier", new ArrayList<>(frontier),
+                "types", types
+            ));
+            while (result.hasNext()) {
+                Record record = result.next();
+                String cbdbId = record.get("cbdbId").asString(null);
+                if (cbdbId == null || visited.test(cbdbId)) {
+                    continue;
+                }
+                org.neo4j.driver.Value weight = record.get("weight");
+                visitor.reach(
+                    record.get("from").asString(),
+                    weight.isNull() ? Double.NaN : weight.asDouble(),
+                    new GraphSnapshotService.SnapshotNode(
+                        cbdbId,
+                        record.get("name").asString(null),
+                        record.get("itemType").asString(null),
+                        record.get("importance").asString(null),
+                        record.get("status").asString(null)
+                    )
+                );
+            }
+        };
+    }
+
+    /**
+     * Same expansion as {@link #neo4jExpander} over the in-memory snapshot
+     */
+    private HopExpander snapshotExpander(GraphSnapshotService.View view, TraversalDirection direction, List<String> types) {
+        Set<String> typeFilter = types != null ? new HashSet<>(types) : null;
+        return (frontier, visited, visitor) -> {
+            for (String from : frontier) {
+                view.forEachNeighbour(from, direction, typeFilter, (neighbour, type, weight, active) -> {
+                    if (active && !visited.test(neighbour)) {
+                        GraphSnapshotService.SnapshotNode node = view.node(neighbour);
+                        if (node != null) {
+                            visitor.reach(from, weight, node);
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    private double edgeFactor(double weight) {
+        if (Double.isNaN(weight) || weightScale <= 0) {
+            return 1.0;
+        }
+        return Math.max(0.0, Math.min(1.0, weight / weightScale));
+    }
+
+    private double importanceWeight(String importance) {
+        if (importance == null) {
+            return 1.0;
+        }
+        return importanceWeights.getOrDefault(importance.toUpperCase(Locale.ROOT), 1.0);
+    }
+
+    /**
+     * Expands a BFS frontier by one hop
+     */
+    @FunctionalInterface
+    private interface HopExpander {
+        void expand(Collection<String> frontier, Predicate<String> visited, HopVisitor visitor);
+    }
+
+    @FunctionalInterface
+    private interface HopVisitor {
+
+        /**
+         * @param from Frontier item the relationship starts from
+         * @param weight Relationship weight, NaN when not set
+         * @param node Reached item, not visited yet
+         */
+        void reach(String from, double weight, GraphSnapshotService.SnapshotNode node);
+    }
+}
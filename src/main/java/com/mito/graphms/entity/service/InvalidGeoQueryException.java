@@ -0,0 +1,15 @@
+package com.mito.graphms.entity.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A geospatial search with coordinates, radius, bounding box or cursor out of range
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidGeoQueryException extends RuntimeException {
+
+    public InvalidGeoQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,154 @@
+package com.mito.graphms.entity.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mito.graphms.dto.CacheInvalidation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Broker-less bus for replicas on the same network: invalidations are sent as JSON
+ * datagrams to a UDP multicast group that every replica joins. Large invalidations
+ * are split so that each datagram stays well below the UDP payload limit.
+ */
+public class MulticastInvalidationBus implements CacheInvalidationBus, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MulticastInvalidationBus.class);
+
+    private static final int MAX_KEYS_PER_DATAGRAM = 200;
+    private static final int MAX_DATAGRAM_SIZE = 65_507;
+    private static final long MIN_RETRY_DELAY_MS = 100;
+    private static final long MAX_RETRY_DELAY_MS = 30_000;
+
+    private final ObjectMapper objectMapper;
+    private final InetSocketAddress group;
+    private final NetworkInterface networkInterface;
+    private final MulticastSocket socket;
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    public MulticastInvalidationBus(
+        ObjectMapper objectMapper,
+        String groupAddress,
+        int port,
+        String interfaceName,
+        int timeToLive
+    ) throws IOException {
+        this.objectMapper = objectMapper;
+        this.group = new InetSocketAddress(InetAddress.getByName(groupAddress), port);
+        this.networkInterface = interfaceName == null || interfaceName.isBlank()
+            ? null
+            : NetworkInterface.getByName(interfaceName);
+        this.socket = new MulticastSocket(port);
+        socket.setTimeToLive(timeToLive);
+        if (networkInterface != null) {
+            socket.setNetworkInterface(networkInterface);
+        }
+        socket.joinGroup(group, networkInterface);
+
+        Thread receiver = new Thread(this::receiveLoop, "cache-invalidation-multicast");
+        receiver.setDaemon(true);
+        receiver.start();
+        log.info("Cache invalidation bus joined multicast group {}", group);
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        List<String> ids = invalidation.getIds();
+        List<String> cbdbIds = invalidation.getCbdbIds();
+        int parts = Math.max(1, (Math.max(ids.size(), cbdbIds.size()) + MAX_KEYS_PER_DATAGRAM - 1) / MAX_KEYS_PER_DATAGRAM);
+        for (int part = 0; part < parts; part++) {
+            CacheInvalidation datagram = new CacheInvalidation(
+                invalidation.getOrigin(),
+                invalidation.getVersion(),
+                slice(ids, part),
+                slice(cbdbIds, part)
+            );
+            datagram.setAll(invalidation.isAll());
+            send(datagram);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+        try {
+            socket.leaveGroup(group, networkInterface);
+        } catch (IOException e) {
+            log.debug("Error leaving multicast group {}", group, e);
+        }
+        socket.close();
+    }
+
+    private void send(CacheInvalidation invalidation) {
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(invalidation);
+            socket.send(new DatagramPacket(payload, payload.length, group));
+        } catch (IOException e) {
+            // Lost invalidations are bounded by the cache TTL, the write itself must not fail
+            log.warn("Could not broadcast cache invalidation", e);
+        }
+    }
+
+    private void receiveLoop() {
+        byte[] buffer = new byte[MAX_DATAGRAM_SIZE];
+        long retryDelayMs = 0;
+        while (!closed) {
+            try {
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                socket.receive(packet);
+                retryDelayMs = 0;
+                CacheInvalidation invalidation = objectMapper.readValue(
+                    packet.getData(), packet.getOffset(), packet.getLength(), CacheInvalidation.class);
+                for (Consumer<CacheInvalidation> listener : listeners) {
+                    listener.accept(invalidation);
+                }
+            } catch (SocketException e) {
+                if (closed) {
+                    return;
+                }
+                // A persistent socket error would otherwise spin: log once per streak and back off
+                if (retryDelayMs == 0) {
+                    log.warn("Cache invalidation socket error, retrying with backoff", e);
+                    retryDelayMs = MIN_RETRY_DELAY_MS;
+                } else {
+                    retryDelayMs = Math.min(retryDelayMs * 2, MAX_RETRY_DELAY_MS);
+                    log.debug("Cache invalidation socket still failing, next retry in {} ms", retryDelayMs, e);
+                }
+                try {
+                    Thread.sleep(retryDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } catch (IOException | UncheckedIOException e) {
+                log.warn("Discarding malformed cache invalidation datagram", e);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation listener failed", e);
+            }
+        }
+    }
+
+    private static List<String> slice(List<String> keys, int part) {
+        int from = Math.min(keys.size(), part * MAX_KEYS_PER_DATAGRAM);
+        int to = Math.min(keys.size(), from + MAX_KEYS_PER_DATAGRAM);
+        return keys.subList(from, to);
+    }
+}
@@ -4,41 +4,122 @@ import com.mito.graphms.domain.entity.GraphNode;
 import com.mito.graphms.domain.entity.GraphRelationship;
 import com.mito.graphms.domain.repository.GraphNodeRepository;
 import com.mito.graphms.domain.repository.GraphRelationshipRepository;
+import com.mito.graphms.dto.CounterDelta;
+import com.mito.graphms.dto.CursorPage;
+import com.mito.graphms.dto.GraphNodeView;
+import com.mito.graphms.dto.NeighbourView;
 import com.mito.graphms.dto.QueryRequest;
-import org.neo4j.driver.Driver;
+import com.mito.graphms.dto.StatusUpdate;
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Record;
 import org.neo4j.driver.Session;
 import org.neo4j.driver.Result;
+import org.neo4j.driver.Values;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
 import org.springframework.data.neo4j.core.Neo4jTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class Neo4jDataService {
 
+    // Applies the increments of a counter row to n; a zero increment leaves the property as it is
+    private static final String INCREMENT_COUNTERS =
+        "SET n.numberOfIncidents = CASE row.incidents WHEN 0 THEN n.numberOfIncidents " +
+        "      ELSE coalesce(n.numberOfIncidents, 0) + row.incidents END, " +
+        "    n.numberOfEvents = CASE row.events WHEN 0 THEN n.numberOfEvents " +
+        "      ELSE coalesce(n.numberOfEvents, 0) + row.events END, " +
+        "    n.numberOfPlanned = CASE row.planned WHEN 0 THEN n.numberOfPlanned " +
+        "      ELSE coalesce(n.numberOfPlanned, 0) + row.planned END ";
+
+    // A null field of the row leaves the property as it is
+    private static final String UPDATE_STATUSES =
+        "UNWIND $rows AS row MATCH (n:ITEM {cbdb_id: row.cbdbId}) " +
+        "WITH n, row, " + GraphStatsService.FACTS + " AS previous " +
+        "SET n.status = coalesce(row.status, n.status), n.Status = coalesce(row.statusDetail, n.Status) " +
+        "RETURN n.id AS id, n.cbdb_id AS cbdbId, n.status AS status, previous";
+
     private final GraphNodeRepository nodeRepository;
     private final GraphRelationshipRepository relationshipRepository;
-    private final Driver neo4jDriver;
+    private final Neo4jSessionFactory sessionFactory;
     private final Neo4jTemplate neo4jTemplate;
+    private final Neo4jClient neo4jClient;
+    private final GraphRecordMapper recordMapper;
+    private final GraphNodeCache nodeCache;
+    private final GraphSnapshotService snapshotService;
+    private final QueryShapeRegistry queryShapes;
+    private final QueryGuard queryGuard;
+    private final QueryResultCache queryResultCache;
+    private final ReadCoalescer readCoalescer;
+    private final GraphStatsService statsService;
+
+    @Value("${mito.graph.pagination.default-page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${mito.graph.pagination.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Value("${mito.graph.stream.fetch-size:1000}")
+    private int streamFetchSize;
+
+    @Value("${mito.graph.shallow.max-depth:3}")
+    private int maxViewDepth;
+
+    @Value("${mito.graph.shallow.default-neighbour-limit:25}")
+    private int defaultNeighbourLimit;
+
+    @Value("${mito.graph.shallow.max-neighbour-limit:1000}")
+    private int maxNeighbourLimit;
+
+    @Value("${mito.graph.shallow.max-nodes:5000}")
+    private int maxViewNodes;
 
     @Autowired
     public Neo4jDataService(
         GraphNodeRepository nodeRepository,
         GraphRelationshipRepository relationshipRepository,
-        Driver neo4jDriver,
-        Neo4jTemplate neo4jTemplate
+        Neo4jSessionFactory sessionFactory,
+        Neo4jTemplate neo4jTemplate,
+        Neo4jClient neo4jClient,
+        GraphRecordMapper recordMapper,
+        GraphNodeCache nodeCache,
+        GraphSnapshotService snapshotService,
+        QueryShapeRegistry queryShapes,
+        QueryGuard queryGuard,
+        QueryResultCache queryResultCache,
+        ReadCoalescer readCoalescer,
+        GraphStatsService statsService
     ) {
         this.nodeRepository = nodeRepository;
         this.relationshipRepository = relationshipRepository;
-        this.neo4jDriver = neo4jDriver;
+        this.sessionFactory = sessionFactory;
         this.neo4jTemplate = neo4jTemplate;
+        this.neo4jClient = neo4jClient;
+        this.recordMapper = recordMapper;
+        this.nodeCache = nodeCache;
+        this.snapshotService = snapshotService;
+        this.queryShapes = queryShapes;
+        this.queryGuard = queryGuard;
+        this.queryResultCache = queryResultCache;
+        this.readCoalescer = readCoalescer;
+        this.statsService = statsService;
     }
 
     /**
@@ -51,6 +132,52 @@ public class Neo4jDataService {
         return nodeRepository.findAll();
     }
 
+    /**
+     * Retrieve all nodes without hydrating their relationships
+     * 
+     * @return List of all nodes, relationship sets are empty
+     */
+    @Transactional(readOnly = true)
+    public List<GraphNode> findAllNodesShallow() {
+        return nodeRepository.findAllShallow();
+    }
+
+    /**
+     * Retrieve a page of nodes ordered by CBDB ID, using the last CBDB ID of the
+     * previous page as cursor. Relationships are not hydrated.
+     * 
+     * @param afterCbdbId Cursor returned by the previous page, null for the first page
+     * @param limit Requested page size, capped to the configured maximum
+     * @return Page of nodes with the cursor for the next page
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<GraphNode> findNodesPage(String afterCbdbId, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        // Fetch one extra row to know whether another page exists
+        List<GraphNode> nodes = nodeRepository.findPageAfterCbdbId(afterCbdbId, pageSize + 1);
+        if (nodes.size() <= pageSize) {
+            return new CursorPage<>(nodes, null);
+        }
+        List<GraphNode> page = nodes.subList(0, pageSize);
+        return new CursorPage<>(List.copyOf(page), page.get(pageSize - 1).getCbdbId());
+    }
+
+    /**
+     * Stream all nodes straight from the Bolt cursor. Records are pulled in batches
+     * of the configured fetch size, so memory usage does not depend on graph size.
+     * Relationships are not hydrated.
+     * 
+     * @param consumer Callback invoked for every node, in cursor order
+     */
+    public void streamAllNodes(Consumer<? super GraphNode> consumer) {
+        try (Session session = sessionFactory.readSession(streamFetchSize)) {
+            Result result = session.run("MATCH (n:ITEM) RETURN n");
+            while (result.hasNext()) {
+                consumer.accept(recordMapper.toNode(result.next().get("n")));
+            }
+        }
+    }
+
     /**
      * Find a node by internal ID
      * 
@@ -63,14 +190,41 @@ public class Neo4jDataService {
     }
 
     /**
-     * Find a node by CBDB ID
+     * Find a node by CBDB ID. Concurrent lookups of the same CBDB ID share one query.
      * 
      * @param cbdbId CBDB ID of the node
      * @return Optional node
      */
-    @Transactional(readOnly = true)
     public Optional<GraphNode> findNodeByCbdbId(String cbdbId) {
-        return nodeRepository.findByCbdbId(cbdbId);
+        return readCoalescer.executeReadOnly("findNodeByCbdbId", cbdbId, () -> nodeRepository.findByCbdbId(cbdbId));
+    }
+
+    /**
+     * Find a shallow view of a node by internal ID
+     * 
+     * @param id Internal ID of the node
+     * @param depth Number of neighbour levels to include, 0 for properties only
+     * @param neighbourLimit Maximum neighbours per direction and per node
+     * @return Optional node view
+     */
+    @Transactional(readOnly = true)
+    public Optional<GraphNodeView> findNodeViewById(String id, int depth, Integer neighbourLimit) {
+        return nodeCache.getById(id, nodeRepository::findShallowById)
+            .map(node -> expandView(GraphNodeView.of(node), depth, neighbourLimit));
+    }
+
+    /**
+     * Find a shallow view of a node by CBDB ID
+     * 
+     * @param cbdbId CBDB ID of the node
+     * @param depth Number of neighbour levels to include, 0 for properties only
+     * @param neighbourLimit Maximum neighbours per direction and per node
+     * @return Optional node view
+     */
+    @Transactional(readOnly = true)
+    public Optional<GraphNodeView> findNodeViewByCbdbId(String cbdbId, int depth, Integer neighbourLimit) {
+        return nodeCache.getByCbdbId(cbdbId, nodeRepository::findShallowByCbdbId)
+            .map(node -> expandView(GraphNodeView.of(node), depth, neighbourLimit));
     }
 
     /**
@@ -84,11 +238,31 @@ public class Neo4jDataService {
         // Set isLink based on item type
         node.setLink(node.getItemType() != null && node.getItemType().contains(":LINK:"));
         
-        // Save the node to get the generated ID
-        GraphNode savedNode = nodeRepository.save(node);
-        
-        // To ensure we return a complete object with all properties and generated ID
-        return nodeRepository.findById(savedNode.getId()).orElse(savedNode);
+        GraphNode createdNode;
+        if (hasRelations(node)) {
+            // Cascading relationship writes are left to the repository
+            createdNode = nodeRepository.save(node);
+            refreshPoint(createdNode.getId());
+        } else {
+            // Single statement: the persisted state comes back from the CREATE itself
+            createdNode = neo4jClient.query(
+                    "CREATE (n:ITEM) SET n = $props, n.id = coalesce($id, randomUUID()) " +
+                    GraphGeoService.SET_POINT + "RETURN n")
+                .bind(recordMapper.toProperties(node)).to("props")
+                .bind(node.getId()).to("id")
+                .fetchAs(GraphNode.class)
+                .mappedBy((typeSystem, record) -> recordMapper.toNode(record.get("n")))
+                .one()
+                .orElseThrow(() -> new RuntimeException("Node could not be created: " + node.getCbdbId()));
+        }
+        nodeCache.invalidate(createdNode.getId(), createdNode.getCbdbId());
+        queryResultCache.invalidateAll();
+        statsService.nodeChanged(null, GraphStatsService.NodeFacts.of(createdNode));
+        snapshotService.nodeWritten(createdNode);
+        if (hasRelations(node)) {
+            snapshotService.requestResync();
+        }
+        return createdNode;
     }
 
     /**
@@ -99,19 +273,48 @@ public class Neo4jDataService {
      */
     @Transactional
     public GraphNode updateNode(GraphNode node) {
-        // Verify node exists before updating
-        return nodeRepository.findById(node.getId())
-            .map(existingNode -> {
-                // Preserve original ID and set isLink based on item type
-                node.setLink(node.getItemType() != null && node.getItemType().contains(":LINK:"));
-                
-                // Save the node with updates
-                GraphNode updatedNode = nodeRepository.save(node);
-                
-                // Ensure we return the complete updated object
-                return nodeRepository.findById(updatedNode.getId()).orElse(updatedNode);
-            })
+        // Preserve original ID and set isLink based on item type
+        node.setLink(node.getItemType() != null && node.getItemType().contains(":LINK:"));
+        
+        if (hasRelations(node)) {
+            // Cascading relationship writes are left to the repository
+            GraphNode existingNode = nodeRepository.findShallowById(node.getId())
+                .orElseThrow(() -> new RuntimeException("Node not found with id: " + node.getId()));
+            GraphNode updatedNode = nodeRepository.save(node);
+            refreshPoint(updatedNode.getId());
+            nodeCache.invalidate(updatedNode.getId(), existingNode.getCbdbId(), updatedNode.getCbdbId());
+            queryResultCache.invalidateAll();
+            statsService.nodeChanged(GraphStatsService.NodeFacts.of(existingNode), GraphStatsService.NodeFacts.of(updatedNode));
+            snapshotService.nodeWritten(updatedNode);
+            snapshotService.requestResync();
+            return updatedNode;
+        }
+        
+        // Existence check and update in the same statement: no row means no node.
+        // Null fields are sent as null so they are removed, as a repository save would do
+        NodeWrite write = neo4jClient.query(
+                "MATCH (n:ITEM {id: $id}) WITH n, n.cbdb_id AS previousCbdbId, " + GraphStatsService.FACTS + " AS previous " +
+                "SET n += $props " + GraphGeoService.SET_POINT + "RETURN n, previousCbdbId")
+            .bind(recordMapper.toProperties(node, true)).to("props")
+            .bind(node.getId()).to("id")
+            .fetchAs(NodeWrite.class)
+            .mappedBy((typeSystem, record) -> new NodeWrite(
+                recordMapper.toNode(record.get("n")),
+                record.get("previousCbdbId").asString(null),
+                GraphStatsService.NodeFacts.of(record.get("previous"))
+            ))
+            .one()
             .orElseThrow(() -> new RuntimeException("Node not found with id: " + node.getId()));
+        nodeCache.invalidate(node.getId(), write.previousCbdbId(), write.node().getCbdbId());
+        queryResultCache.invalidateAll();
+        statsService.nodeChanged(write.previous(), GraphStatsService.NodeFacts.of(write.node()));
+        if (write.previousCbdbId() != null && !write.previousCbdbId().equals(write.node().getCbdbId())) {
+            // A new CBDB ID is a different node for the snapshot, relationships follow at the next resync
+            snapshotService.nodeDeleted(write.previousCbdbId());
+            snapshotService.requestResync();
+        }
+        snapshotService.nodeWritten(write.node());
+        return write.node();
     }
 
     /**
@@ -121,7 +324,22 @@ public class Neo4jDataService {
      */
     @Transactional
     public void deleteNode(String id) {
-        nodeRepository.deleteById(id);
+        neo4jClient.query(
+                "MATCH (n:ITEM {id: $id}) WITH n, n.cbdb_id AS cbdbId, " + GraphStatsService.FACTS + " AS previous " +
+                "DETACH DELETE n RETURN cbdbId, previous")
+            .bind(id).to("id")
+            .fetchAs(NodeDelete.class)
+            .mappedBy((typeSystem, record) -> new NodeDelete(
+                record.get("cbdbId").asString(null),
+                GraphStatsService.NodeFacts.of(record.get("previous"))
+            ))
+            .all()
+            .forEach(deleted -> {
+                nodeCache.invalidate(id, deleted.key());
+                statsService.nodeChanged(deleted.previous(), null);
+                snapshotService.nodeDeleted(deleted.key());
+            });
+        queryResultCache.invalidateAll();
     }
 
     /**
@@ -131,7 +349,143 @@ public class Neo4jDataService {
      */
     @Transactional
     public void deleteNodeByCbdbId(String cbdbId) {
-        nodeRepository.deleteByCbdbId(cbdbId);
+        Collection<NodeDelete> deleted = neo4jClient
+            .query("MATCH (n:ITEM {cbdb_id: $cbdbId}) WITH n, n.id AS id, " + GraphStatsService.FACTS + " AS previous " +
+                   "DETACH DELETE n RETURN id, previous")
+            .bind(cbdbId).to("cbdbId")
+            .fetchAs(NodeDelete.class)
+            .mappedBy((typeSystem, record) -> new NodeDelete(
+                record.get("id").asString(null),
+                GraphStatsService.NodeFacts.of(record.get("previous"))
+            ))
+            .all();
+        nodeCache.invalidate(deleted.stream().map(NodeDelete::key).toList(), List.of(cbdbId));
+        deleted.forEach(node -> statsService.nodeChanged(node.previous(), null));
+        queryResultCache.invalidateAll();
+        snapshotService.nodeDeleted(cbdbId);
+    }
+
+    /**
+     * Increment the counters of a node in a single statement, without reading it first.
+     * Neo4j takes the node write lock before evaluating a SET that reads the property it
+     * writes, so concurrent increments of the same node are serialised and none is lost.
+     * 
+     * @param cbdbId CBDB ID of the node
+     * @param delta Increments to apply
+     * @return Updated node, empty if no node has this CBDB ID
+     */
+    @Transactional
+    public Optional<GraphNode> incrementCounters(String cbdbId, CounterDelta delta) {
+        Optional<GraphNode> updated = neo4jClient
+            .query("MATCH (n:ITEM {cbdb_id: $cbdbId}) WITH n, $row AS row " + INCREMENT_COUNTERS + "RETURN n")
+            .bind(cbdbId).to("cbdbId")
+            .bind(counterRow(cbdbId, delta)).to("row")
+            .fetchAs(GraphNode.class)
+            .mappedBy((typeSystem, record) -> recordMapper.toNode(record.get("n")))
+            .one();
+        updated.ifPresent(node -> {
+            nodeCache.invalidate(node.getId(), cbdbId);
+            queryResultCache.invalidateAll();
+            statsService.countersChanged(delta.getNumberOfIncidents(), delta.getNumberOfEvents(), delta.getNumberOfPlanned());
+        });
+        return updated;
+    }
+
+    /**
+     * Increment the counters of many nodes with one UNWIND statement, e.g. the deltas
+     * combined by {@link CounterWriteCombiner}. Unknown CBDB IDs are skipped.
+     * 
+     * @param deltas Increments by CBDB ID
+     * @return Number of nodes updated
+     */
+    @Transactional
+    public int incrementCounters(Map<String, CounterDelta> deltas) {
+        List<Map<String, Object>> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((cbdbId, delta) -> rows.add(counterRow(cbdbId, delta)));
+        Collection<CounterWrite> written = neo4jClient
+            .query("UNWIND $rows AS row MATCH (n:ITEM {cbdb_id: row.cbdbId}) " + INCREMENT_COUNTERS +
+                   "RETURN n.id AS id, row.cbdbId AS cbdbId")
+            .bind(rows).to("rows")
+            .fetchAs(CounterWrite.class)
+            .mappedBy((typeSystem, record) -> new CounterWrite(record.get("id").asString(null), record.get("cbdbId").asString()))
+            .all();
+        if (written.isEmpty()) {
+            return 0;
+        }
+        nodeCache.invalidate(
+            written.stream().map(CounterWrite::id).toList(),
+            written.stream().map(CounterWrite::cbdbId).toList()
+        );
+        queryResultCache.invalidateAll();
+        long incidents = 0;
+        long events = 0;
+        long planned = 0;
+        for (CounterWrite write : written) {
+            CounterDelta delta = deltas.get(write.cbdbId());
+            incidents += delta.getNumberOfIncidents();
+            events += delta.getNumberOfEvents();
+            planned += delta.getNumberOfPlanned();
+        }
+        statsService.countersChanged(incidents, events, planned);
+        return written.size();
+    }
+
+    /**
+     * Apply many status changes with one UNWIND statement, e.g. the updates coalesced by
+     * {@link StatusUpdateQueue}. Unknown CBDB IDs are skipped.
+     * 
+     * @param updates Status changes, at most one per CBDB ID
+     * @return Number of nodes updated
+     */
+    @Transactional
+    public int updateStatuses(Collection<StatusUpdate> updates) {
+        List<Map<String, Object>> rows = new ArrayList<>(updates.size());
+        for (StatusUpdate update : updates) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("cbdbId", update.getCbdbId());
+            row.put("status", update.getStatus());
+            row.put("statusDetail", update.getStatusDetail());
+            rows.add(row);
+        }
+        Collection<StatusWrite> written = neo4jClient.query(UPDATE_STATUSES)
+            .bind(rows).to("rows")
+            .fetchAs(StatusWrite.class)
+            .mappedBy((typeSystem, record) -> new StatusWrite(
+                record.get("id").asString(null),
+                record.get("cbdbId").asString(),
+                record.get("status").asString(null),
+                GraphStatsService.NodeFacts.of(record.get("previous"))
+            ))
+            .all();
+        if (written.isEmpty()) {
+            return 0;
+        }
+        nodeCache.invalidate(
+            written.stream().map(StatusWrite::id).toList(),
+            written.stream().map(StatusWrite::cbdbId).toList()
+        );
+        queryResultCache.invalidateAll();
+        for (StatusWrite write : written) {
+            GraphStatsService.NodeFacts previous = write.previous();
+            statsService.nodeChanged(previous, new GraphStatsService.NodeFacts(
+                previous.itemType(), write.status(), previous.importance(), previous.locId(),
+                previous.incidents(), previous.events(), previous.planned()
+            ));
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("cbdb_id", write.cbdbId());
+            properties.put("status", write.status());
+            snapshotService.nodePropertiesWritten(properties);
+        }
+        return written.size();
+    }
+
+    private static Map<String, Object> counterRow(String cbdbId, CounterDelta delta) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("cbdbId", cbdbId);
+        row.put("incidents", delta.getNumberOfIncidents());
+        row.put("events", delta.getNumberOfEvents());
+        row.put("planned", delta.getNumberOfPlanned());
+        return row;
     }
 
     /**
@@ -141,16 +495,30 @@ public class Neo4jDataService {
      * @return List of maps containing the results
      */
     public List<Map<String, Object>> executeCustomQuery(String cypherQuery) {
-        try (Session session = neo4jDriver.session()) {
-            Result result = session.run(cypherQuery);
-            return result.list(record -> 
-                record.keys().stream()
-                    .collect(Collectors.toMap(
-                        key -> key, 
-                        key -> record.get(key).asObject()
-                    ))
-            );
-        }
+        return executeCustomQuery(cypherQuery, null, null);
+    }
+
+    /**
+     * Execute a custom Cypher query within the given guardrails
+     * 
+     * @param cypherQuery Cypher query to execute
+     * @param timeoutMs Transaction timeout, null for the configured default
+     * @param maxRows Row limit, null for the configured default
+     * @return List of maps containing the results
+     */
+    public List<Map<String, Object>> executeCustomQuery(String cypherQuery, Long timeoutMs, Long maxRows) {
+        QueryRequest queryRequest = new QueryRequest(cypherQuery);
+        queryRequest.setTimeoutMs(timeoutMs);
+        queryRequest.setMaxRows(maxRows);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        runCustomQuery(queryShapes.prepare(queryRequest), queryRequest, false, record ->
+            rows.add(record.keys().stream()
+                .collect(Collectors.toMap(
+                    key -> key, 
+                    key -> record.get(key).asObject()
+                )))
+        );
+        return rows;
     }
     
     /**
@@ -160,16 +528,82 @@ public class Neo4jDataService {
      * @return List of maps containing the results
      */
     public List<Map<String, Object>> executeCustomQueryWithParams(QueryRequest queryRequest) {
-        try (Session session = neo4jDriver.session()) {
-            Result result = session.run(queryRequest.getQuery(), queryRequest.getParameters());
-            
-            return result.list(record -> {
-                Map<String, Object> row = new HashMap<>();
-                for (String key : record.keys()) {
-                    row.put(key, record.get(key).asObject());
+        QueryShapeRegistry.PreparedQuery prepared = queryShapes.prepare(queryRequest);
+        Optional<Duration> ttl = queryResultCache.ttlFor(queryRequest);
+        if (ttl.isPresent()) {
+            Optional<List<Map<String, Object>>> cached = queryResultCache.get(prepared.query(), prepared.parameters());
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+        Supplier<List<Map<String, Object>>> execution = () -> {
+            long generation = queryResultCache.generation();
+            List<Map<String, Object>> rows = new ArrayList<>();
+            AccessMode accessMode = runCustomQuery(prepared, queryRequest, false, record -> rows.add(recordMapper.toRow(record)));
+            if (ttl.isPresent() && accessMode == AccessMode.READ) {
+                return queryResultCache.put(prepared.query(), prepared.parameters(), rows, ttl.get(), generation);
+            }
+            return rows;
+        };
+        if (sessionFactory.accessModeOf(prepared.query()) != AccessMode.READ) {
+            return execution.get();
+        }
+        // Identical read-only requests in flight share one execution; the guardrails are part of the key
+        return readCoalescer.execute(
+            "executeCustomQuery",
+            List.of(prepared.query(), prepared.parameters(), String.valueOf(queryRequest.getTimeoutMs()),
+                String.valueOf(queryRequest.getMaxRows())),
+            execution
+        );
+    }
+
+    /**
+     * Execute a custom Cypher query and hand every row to the consumer as it is
+     * pulled from the Bolt cursor, in batches of the configured fetch size. Nothing
+     * is accumulated, so the result set can be larger than the heap.
+     * 
+     * @param queryRequest Query and parameters
+     * @param consumer Callback invoked for every row, in result order
+     */
+    public void streamCustomQuery(QueryRequest queryRequest, Consumer<? super Map<String, Object>> consumer) {
+        runCustomQuery(queryShapes.prepare(queryRequest), queryRequest, true, record -> consumer.accept(recordMapper.toRow(record)));
+    }
+
+    /**
+     * Admit a normalised custom query through the guardrails, run it in a session
+     * routed by its query type and record its execution time against its shape.
+     * Records are handed over as they are pulled; past the row limit of a read-only
+     * query the rest of the result is discarded. Write statements are not row limited:
+     * closing an auto-commit session early still commits them, so a rejection would
+     * hide an applied write. Queries that may write clear the result cache.
+     *
+     * @return Access mode the query ran with
+     */
+    private AccessMode runCustomQuery(
+        QueryShapeRegistry.PreparedQuery prepared,
+        QueryRequest queryRequest,
+        boolean streaming,
+        Consumer<Record> consumer
+    ) {
+        try (QueryGuard.Admission admission = queryGuard.admit(prepared.query(), queryRequest, streaming)) {
+            long start = System.nanoTime();
+            try (Session session = sessionFactory.session(admission.accessMode(), streaming ? streamFetchSize : 0)) {
+                Result result = session.run(prepared.query(), prepared.parameters(), admission.transactionConfig());
+                long rows = 0;
+                while (result.hasNext()) {
+                    admission.checkRows(++rows);
+                    consumer.accept(result.next());
                 }
-                return row;
-            });
+            } finally {
+                prepared.recordExecution(System.nanoTime() - start);
+                if (admission.accessMode() == AccessMode.WRITE) {
+                    // Any node may have been written, and there are no keys to evict selectively
+                    nodeCache.invalidateAll();
+                    queryResultCache.invalidateAll();
+                    statsService.requestReconcile();
+                }
+            }
+            return admission.accessMode();
         }
     }
 
@@ -185,6 +619,48 @@ public class Neo4jDataService {
         return relationshipRepository.findAll();
     }
     
+    /**
+     * Retrieve a page of relationships ordered by internal ID, using the last ID
+     * of the previous page as cursor
+     * 
+     * @param afterId Cursor returned by the previous page, null for the first page
+     * @param limit Requested page size, capped to the configured maximum
+     * @return Page of relationships with the cursor for the next page
+     * @throws InvalidCursorException if the cursor is not a relationship ID
+     */
+    public CursorPage<GraphRelationship> findRelationshipsPage(String afterId, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        long after = parseRelationshipCursor(afterId);
+        try (Session session = sessionFactory.readSession()) {
+            // Keyed on id(r) rather than elementId(r): the cursor is the ID the entity exposes
+            Result result = session.run(
+                "MATCH (s:ITEM)-[r]->(t:ITEM) WHERE id(r) > $after " +
+                "RETURN s, r, t ORDER BY id(r) ASC LIMIT $limit",
+                Values.parameters("after", after, "limit", pageSize + 1)
+            );
+            List<GraphRelationship> relationships = result.list(recordMapper::toRelationship);
+            if (relationships.size() <= pageSize) {
+                return new CursorPage<>(relationships, null);
+            }
+            List<GraphRelationship> page = relationships.subList(0, pageSize);
+            return new CursorPage<>(List.copyOf(page), String.valueOf(page.get(pageSize - 1).getId()));
+        }
+    }
+
+    /**
+     * Stream all relationships straight from the Bolt cursor
+     * 
+     * @param consumer Callback invoked for every relationship, in cursor order
+     */
+    public void streamAllRelationships(Consumer<? super GraphRelationship> consumer) {
+        try (Session session = sessionFactory.readSession(streamFetchSize)) {
+            Result result = session.run("MATCH (s:ITEM)-[r]->(t:ITEM) RETURN s, r, t");
+            while (result.hasNext()) {
+                consumer.accept(recordMapper.toRelationship(result.next()));
+            }
+        }
+    }
+    
     /**
      * Find a relationship by ID
      * 
@@ -208,14 +684,14 @@ public class Neo4jDataService {
     }
     
     /**
-     * Find relationships from a source node
+     * Find relationships from a source node. Concurrent lookups of the same node share one query.
      * 
      * @param sourceCbdbId CBDB ID of the source node
      * @return List of relationships
      */
-    @Transactional(readOnly = true)
     public List<GraphRelationship> findRelationshipsFromNode(String sourceCbdbId) {
-        return relationshipRepository.findBySourceNodeCbdbId(sourceCbdbId);
+        return readCoalescer.executeReadOnly("findRelationshipsFromNode", sourceCbdbId,
+            () -> relationshipRepository.findBySourceNodeCbdbId(sourceCbdbId));
     }
     
     /**
@@ -239,20 +715,31 @@ public class Neo4jDataService {
      */
     @Transactional
     public GraphRelationship createRelationship(String sourceCbdbId, String targetCbdbId, String type) {
-        GraphNode sourceNode = nodeRepository.findByCbdbId(sourceCbdbId)
-            .orElseThrow(() -> new RuntimeException("Source node not found with CBDB ID: " + sourceCbdbId));
-        
-        GraphNode targetNode = nodeRepository.findByCbdbId(targetCbdbId)
-            .orElseThrow(() -> new RuntimeException("Target node not found with CBDB ID: " + targetCbdbId));
-        
-        GraphRelationship relationship = new GraphRelationship(sourceNode, targetNode, type);
+        // Endpoint lookup, creation and read back in a single statement. Same model as
+        // the repository mapping: a RELATES_TO edge carrying the type as a property
+        Optional<GraphRelationship> created = neo4jClient.query(
+                "MATCH (s:ITEM {cbdb_id: $sourceCbdbId}) " +
+                "MATCH (t:ITEM {cbdb_id: $targetCbdbId}) " +
+                "CREATE (s)-[r:RELATES_TO]->(t) " +
+                "SET r.type = $type, r.createdAt = localdatetime(), r.updatedAt = localdatetime() " +
+                "RETURN s, r, t")
+            .bind(sourceCbdbId).to("sourceCbdbId")
+            .bind(targetCbdbId).to("targetCbdbId")
+            .bind(type).to("type")
+            .fetchAs(GraphRelationship.class)
+            .mappedBy((typeSystem, record) -> recordMapper.toRelationship(record))
+            .one();
         
-        // Save the relationship to generate ID
-        GraphRelationship savedRelationship = relationshipRepository.save(relationship);
-        
-        // Ensure we return the complete saved entity with ID
-        return relationshipRepository.findById(savedRelationship.getId())
-            .orElse(savedRelationship);
+        GraphRelationship relationship = created.orElseThrow(() -> {
+            // Only on failure: find out which endpoint is missing
+            if (!nodeRepository.existsByCbdbId(sourceCbdbId)) {
+                return new RuntimeException("Source node not found with CBDB ID: " + sourceCbdbId);
+            }
+            return new RuntimeException("Target node not found with CBDB ID: " + targetCbdbId);
+        });
+        snapshotService.relationshipWritten(relationship);
+        queryResultCache.invalidateAll();
+        return relationship;
     }
 
     /**
@@ -267,20 +754,28 @@ public class Neo4jDataService {
             throw new IllegalArgumentException("Relationship ID cannot be null for update operation");
         }
         
-        return relationshipRepository.findById(relationship.getId())
-            .map(existingRel -> {
-                // Keep the original nodes and update the rest
-                relationship.setSourceNode(existingRel.getSourceNode());
-                relationship.setTargetNode(existingRel.getTargetNode());
-                relationship.updateTimestamp();
-                
-                GraphRelationship updatedRelationship = relationshipRepository.save(relationship);
-                
-                // Ensure we return the complete updated entity
-                return relationshipRepository.findById(updatedRelationship.getId())
-                    .orElse(updatedRelationship);
-            })
+        // Keep the original nodes and update the rest; no row means no relationship
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", relationship.getId());
+        params.put("type", relationship.getType());
+        params.put("weight", relationship.getWeight());
+        params.put("description", relationship.getDescription());
+        params.put("active", relationship.getActive());
+        params.put("priority", relationship.getPriority());
+        
+        GraphRelationship updated = neo4jClient.query(
+                "MATCH (s:ITEM)-[r]->(t:ITEM) WHERE id(r) = $id " +
+                "SET r.type = coalesce($type, r.type), r.weight = $weight, r.description = $description, " +
+                "    r.active = $active, r.priority = $priority, r.updatedAt = localdatetime() " +
+                "RETURN s, r, t")
+            .bindAll(params)
+            .fetchAs(GraphRelationship.class)
+            .mappedBy((typeSystem, record) -> recordMapper.toRelationship(record))
+            .one()
             .orElseThrow(() -> new RuntimeException("Relationship not found with id: " + relationship.getId()));
+        snapshotService.relationshipWritten(updated);
+        queryResultCache.invalidateAll();
+        return updated;
     }
     
     /**
@@ -290,7 +785,18 @@ public class Neo4jDataService {
      */
     @Transactional
     public void deleteRelationship(Long id) {
-        relationshipRepository.deleteById(id);
+        // Delete and report the endpoints in one statement, the snapshot needs them
+        neo4jClient.query(
+                "MATCH (s:ITEM)-[r]->(t:ITEM) WHERE id(r) = $id " +
+                "WITH s.cbdb_id AS source, t.cbdb_id AS target, coalesce(r.type, type(r)) AS type, r DELETE r " +
+                "RETURN source, target, type")
+            .bind(id).to("id")
+            .fetch()
+            .all()
+            .forEach(row -> snapshotService.relationshipDeleted(
+                (String) row.get("source"), (String) row.get("target"), (String) row.get("type")
+            ));
+        queryResultCache.invalidateAll();
     }
     
     /**
@@ -302,7 +808,21 @@ public class Neo4jDataService {
      */
     @Transactional
     public void deleteRelationshipByNodes(String sourceCbdbId, String targetCbdbId, String type) {
-        relationshipRepository.deleteBySourceAndTargetAndType(sourceCbdbId, targetCbdbId, type);
+        // Matches RELATES_TO edges by their type property as well as edges labelled with the type
+        long deleted = neo4jClient.query(
+                "MATCH (s:ITEM {cbdb_id: $sourceCbdbId})-[r]->(t:ITEM {cbdb_id: $targetCbdbId}) " +
+                "WHERE coalesce(r.type, type(r)) = $type " +
+                "DELETE r RETURN count(r) AS deleted")
+            .bind(sourceCbdbId).to("sourceCbdbId")
+            .bind(targetCbdbId).to("targetCbdbId")
+            .bind(type).to("type")
+            .fetchAs(Long.class)
+            .one()
+            .orElse(0L);
+        if (deleted > 0) {
+            snapshotService.relationshipDeleted(sourceCbdbId, targetCbdbId, type);
+            queryResultCache.invalidateAll();
+        }
     }
     
     /**
@@ -318,4 +838,134 @@ public class Neo4jDataService {
         // Utilizzo l'implementazione basata sul repository
         createRelationship(sourceCmdbId, targetCmdbId, relationType);
     }
-}
\ No newline at end of file
+
+    /**
+     * Attach up to {@code depth} levels of neighbours to the view, one query per level.
+     * Each node of a level gets at most {@code neighbourLimit} neighbours per direction.
+     * A node is expanded only once: when it shows up again (a shared neighbour or a
+     * cycle) it is listed without neighbours. The whole view holds at most
+     * {@code mito.graph.shallow.max-nodes} nodes; past that the root is marked truncated.
+     */
+    private GraphNodeView expandView(GraphNodeView root, int depth, Integer neighbourLimit) {
+        int levels = Math.max(0, Math.min(depth, maxViewDepth));
+        if (levels == 0) {
+            return root;
+        }
+        int limit = neighbourLimit == null || neighbourLimit <= 0
+            ? defaultNeighbourLimit
+            : Math.min(neighbourLimit, maxNeighbourLimit);
+
+        ViewExpansion expansion = new ViewExpansion(maxViewNodes - 1);
+        expansion.visited.add(root.getCbdbId());
+        List<GraphNodeView> frontier = List.of(root);
+        try (Session session = sessionFactory.readSession()) {
+            for (int level = 0; level < levels && !frontier.isEmpty() && !expansion.truncated; level++) {
+                // Frontier nodes are distinct, each was added to visited when first seen
+                Map<String, GraphNodeView> byCbdbId = new LinkedHashMap<>();
+                for (GraphNodeView view : frontier) {
+                    byCbdbId.put(view.getCbdbId(), view);
+                }
+                Result result = session.run(
+                    "UNWIND $cbdbIds AS cbdbId " +
+                    "MATCH (n:ITEM {cbdb_id: cbdbId}) " +
+                    "CALL { WITH n MATCH (n)-[r]->(m:ITEM) WITH r, m LIMIT $limit " +
+                    "       RETURN collect({rel: r, node: m}) AS outgoing } " +
+                    "CALL { WITH n MATCH (n)<-[r]-(m:ITEM) WITH r, m LIMIT $limit " +
+                    "       RETURN collect({rel: r, node: m}) AS incoming } " +
+                    "RETURN n.cbdb_id AS cbdbId, outgoing, incoming",
+                    Values.parameters("cbdbIds", new ArrayList<>(byCbdbId.keySet()), "limit", limit)
+                );
+                boolean expandNext = level + 1 < levels;
+                List<GraphNodeView> nextFrontier = new ArrayList<>();
+                // Stop pulling once the cap is hit, closing the session discards the rest
+                while (!expansion.truncated && result.hasNext()) {
+                    Record record = result.next();
+                    GraphNodeView view = byCbdbId.get(record.get("cbdbId").asString());
+                    view.setOutgoing(toNeighbours(record.get("outgoing"), expansion, expandNext ? nextFrontier : null));
+                    view.setIncoming(toNeighbours(record.get("incoming"), expansion, expandNext ? nextFrontier : null));
+                }
+                frontier = nextFrontier;
+            }
+        }
+        if (expansion.truncated) {
+            root.setTruncated(true);
+        }
+        return root;
+    }
+
+    private List<NeighbourView> toNeighbours(
+        org.neo4j.driver.Value entries,
+        ViewExpansion expansion,
+        List<GraphNodeView> nextFrontier
+    ) {
+        List<NeighbourView> neighbours = new ArrayList<>(entries.size());
+        for (org.neo4j.driver.Value entry : entries.values()) {
+            if (expansion.remaining == 0) {
+                expansion.truncated = true;
+                break;
+            }
+            expansion.remaining--;
+            GraphNodeView neighbour = GraphNodeView.of(recordMapper.toNode(entry.get("node")));
+            neighbours.add(new NeighbourView(recordMapper.toRelationship(entry.get("rel")), neighbour));
+            if (nextFrontier != null && expansion.visited.add(neighbour.getCbdbId())) {
+                nextFrontier.add(neighbour);
+            }
+        }
+        return neighbours;
+    }
+
+    private boolean hasRelations(GraphNode node) {
+        return (node.getOutgoingRelations() != null && !node.getOutgoingRelations().isEmpty())
+            || (node.getIncomingRelations() != null && !node.getIncomingRelations().isEmpty());
+    }
+
+    // Repository saves write the entity fields only, the point is derived afterwards
+    private void refreshPoint(String id) {
+        neo4jClient.query("MATCH (n:ITEM {id: $id}) " + GraphGeoService.SET_POINT)
+            .bind(id).to("id")
+            .run();
+    }
+
+    private static long parseRelationshipCursor(String afterId) {
+        if (afterId == null) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(afterId);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid relationship cursor: " + afterId);
+        }
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    // Key is the identifier not used to match the node: CBDB ID when deleting by ID, ID otherwise
+    private record NodeDelete(String key, GraphStatsService.NodeFacts previous) {
+    }
+
+    private record CounterWrite(String id, String cbdbId) {
+    }
+
+    // State of one expandView call: CBDB IDs already expanded or queued, nodes left in the budget
+    private static final class ViewExpansion {
+
+        private final Set<String> visited = new HashSet<>();
+        private int remaining;
+        private boolean truncated;
+
+        private ViewExpansion(int remaining) {
+            this.remaining = remaining;
+        }
+    }
+
+    private record StatusWrite(String id, String cbdbId, String status, GraphStatsService.NodeFacts previous) {
+    }
+
+    private record NodeWrite(GraphNode node, String previousCbdbId, GraphStatsService.NodeFacts previous) {
+    }
+}
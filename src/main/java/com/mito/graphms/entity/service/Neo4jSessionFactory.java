@@ -0,0 +1,138 @@
+package com.mito.graphms.entity.service;
+
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Bookmark;
+import org.neo4j.driver.BookmarkManager;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.reactivestreams.ReactiveSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.neo4j.core.transaction.Neo4jBookmarkManager;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Opens the sessions used outside Spring transactions. Read sessions are opened in
+ * {@link AccessMode#READ}, so with a {@code neo4j://} URI the driver routes them to
+ * followers and read replicas; write sessions go to the leader. Every session shares
+ * the bookmarks of the transaction manager, so a read issued after a write, raw or
+ * transactional, waits until the member serving it has caught up with that write.
+ * With a {@code bolt://} URI there is a single member and the access mode is ignored.
+ */
+@Component
+public class Neo4jSessionFactory {
+
+    private final Driver neo4jDriver;
+    private final BookmarkManager bookmarkManager;
+    private final QueryPlanInspector planInspector;
+
+    @Autowired
+    public Neo4jSessionFactory(
+        Driver neo4jDriver,
+        Neo4jBookmarkManager bookmarkManager,
+        QueryPlanInspector planInspector
+    ) {
+        this.neo4jDriver = neo4jDriver;
+        this.bookmarkManager = new SharedBookmarks(bookmarkManager);
+        this.planInspector = planInspector;
+    }
+
+    /**
+     * @return Session routed to a follower or read replica
+     */
+    public Session readSession() {
+        return neo4jDriver.session(config(AccessMode.READ, 0));
+    }
+
+    /**
+     * @param fetchSize Records pulled per batch
+     * @return Session routed to a follower or read replica
+     */
+    public Session readSession(long fetchSize) {
+        return neo4jDriver.session(config(AccessMode.READ, fetchSize));
+    }
+
+    /**
+     * @return Session routed to the leader
+     */
+    public Session writeSession() {
+        return neo4jDriver.session(config(AccessMode.WRITE, 0));
+    }
+
+    /**
+     * @param accessMode Access mode of the session
+     * @param fetchSize Records requested per batch, 0 for the driver default
+     * @return Reactive session sharing the transaction manager bookmarks
+     */
+    public ReactiveSession reactiveSession(AccessMode accessMode, long fetchSize) {
+        return neo4jDriver.session(ReactiveSession.class, config(accessMode, fetchSize));
+    }
+
+    /**
+     * Session for an arbitrary Cypher statement, routed according to {@link #accessModeOf}
+     *
+     * @param query Cypher query the session will run
+     * @param fetchSize Records pulled per batch, 0 for the driver default
+     * @return Session routed to a follower for read-only queries, to the leader otherwise
+     */
+    public Session sessionFor(String query, long fetchSize) {
+        return session(accessModeOf(query), fetchSize);
+    }
+
+    /**
+     * @param accessMode Access mode of the session
+     * @param fetchSize Records pulled per batch, 0 for the driver default
+     * @return Session sharing the transaction manager bookmarks
+     */
+    public Session session(AccessMode accessMode, long fetchSize) {
+        return neo4jDriver.session(config(accessMode, fetchSize));
+    }
+
+    /**
+     * @param accessMode Access mode of the session
+     * @param fetchSize Records pulled per batch, 0 for the driver default
+     * @return Session configuration sharing the transaction manager bookmarks
+     */
+    public SessionConfig config(AccessMode accessMode, long fetchSize) {
+        SessionConfig.Builder builder = SessionConfig.builder()
+            .withDefaultAccessMode(accessMode)
+            .withBookmarkManager(bookmarkManager);
+        if (fetchSize > 0) {
+            builder.withFetchSize(fetchSize);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Classify a Cypher statement by its plan. Statements that cannot be planned
+     * are treated as writes and left to fail on the leader.
+     *
+     * @param query Cypher query
+     * @return {@link AccessMode#READ} for read-only queries, {@link AccessMode#WRITE} otherwise
+     */
+    public AccessMode accessModeOf(String query) {
+        return planInspector.inspect(query)
+            .filter(QueryPlanInspector.PlanSummary::readOnly)
+            .map(plan -> AccessMode.READ)
+            .orElse(AccessMode.WRITE);
+    }
+
+    /**
+     * Driver view of the Spring Data bookmark manager
+     */
+    private record SharedBookmarks(Neo4jBookmarkManager delegate) implements BookmarkManager {
+
+        @Override
+        public void updateBookmarks(Set<Bookmark> previousBookmarks, Set<Bookmark> newBookmarks) {
+            delegate.updateBookmarks(previousBookmarks, newBookmarks);
+        }
+
+        @Override
+        public Set<Bookmark> getBookmarks() {
+            return new HashSet<>(delegate.getBookmarks());
+        }
+    }
+}
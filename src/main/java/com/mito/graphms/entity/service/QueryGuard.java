@@ -0,0 +1,213 @@
+package com.mito.graphms.entity.service;
+
+import com.mito.graphms.dto.QueryRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.TransactionConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Guardrails for custom Cypher queries, applied before and during execution:
+ * <ul>
+ *   <li>a transaction timeout, per request within a configured maximum, enforced by Neo4j</li>
+ *   <li>a row limit checked while pulling records of read-only queries from the cursor;
+ *       write statements run in auto-commit transactions, so stopping early would not
+ *       undo the write, and are bounded by the timeout only</li>
+ *   <li>an optional pre-flight check of the cached plan, rejecting forbidden operators
+ *       ({@code CartesianProduct}, {@code AllNodesScan}, ...) and plans whose largest
+ *       row estimate exceeds the budget</li>
+ *   <li>a limit on the number of heavy queries (large row estimate, or no plan) running
+ *       at the same time; callers over the limit wait, then get a 429</li>
+ * </ul>
+ */
+@Component
+public class QueryGuard {
+
+    private final QueryPlanInspector planInspector;
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+    private final long maxRows;
+    private final long streamMaxRows;
+    private final boolean preflight;
+    private final double maxEstimatedRows;
+    private final Set<String> forbiddenOperators;
+    private final double heavyEstimatedRows;
+    private final int maxConcurrentHeavy;
+    private final Duration heavyAcquireTimeout;
+    private final Semaphore heavyPermits;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public QueryGuard(
+        QueryPlanInspector planInspector,
+        MeterRegistry meterRegistry,
+        @Value("${mito.graph.query.guardrails.default-timeout:30s}") Duration defaultTimeout,
+        @Value("${mito.graph.query.guardrails.max-timeout:5m}") Duration maxTimeout,
+        @Value("${mito.graph.query.guardrails.max-rows:100000}") long maxRows,
+        @Value("${mito.graph.query.guardrails.stream-max-rows:10000000}") long streamMaxRows,
+        @Value("${mito.graph.query.guardrails.preflight.enabled:false}") boolean preflight,
+        @Value("${mito.graph.query.guardrails.preflight.max-estimated-rows:10000000}") double maxEstimatedRows,
+        @Value("${mito.graph.query.guardrails.preflight.forbidden-operators:CartesianProduct,AllNodesScan}") String forbiddenOperators,
+        @Value("${mito.graph.query.guardrails.heavy.estimated-rows:100000}") double heavyEstimatedRows,
+        @Value("${mito.graph.query.guardrails.heavy.max-concurrent:4}") int maxConcurrentHeavy,
+        @Value("${mito.graph.query.guardrails.heavy.acquire-timeout:10s}") Duration heavyAcquireTimeout
+    ) {
+        this.planInspector = planInspector;
+        this.meterRegistry = meterRegistry;
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+        this.maxRows = maxRows;
+        this.streamMaxRows = streamMaxRows;
+        this.preflight = preflight;
+        this.maxEstimatedRows = maxEstimatedRows;
+        this.forbiddenOperators = Arrays.stream(forbiddenOperators.split(","))
+            .map(String::trim)
+            .filter(operator -> !operator.isEmpty())
+            .map(operator -> operator.toLowerCase(Locale.ROOT))
+            .collect(Collectors.toUnmodifiableSet());
+        this.heavyEstimatedRows = heavyEstimatedRows;
+        this.maxConcurrentHeavy = maxConcurrentHeavy;
+        this.heavyAcquireTimeout = heavyAcquireTimeout;
+        this.heavyPermits = new Semaphore(maxConcurrentHeavy, true);
+        Gauge.builder("graph.query.heavy.active", heavyPermits, permits -> maxConcurrentHeavy - permits.availablePermits())
+            .register(meterRegistry);
+    }
+
+    /**
+     * Check a query against the guardrails and reserve a heavy query slot if needed.
+     * The admission must be closed once the result has been consumed.
+     *
+     * @param query Statement about to be executed
+     * @param queryRequest Client request, for the per-request timeout and row limit
+     * @param streaming Whether the rows are streamed to the client instead of buffered
+     * @return Admission carrying the transaction configuration, access mode and row limit
+     * @throws QueryRejectedException if the pre-flight check rejects the plan
+     * @throws QueryThrottledException if no heavy query slot frees up in time
+     */
+    public Admission admit(String query, QueryRequest queryRequest, boolean streaming) {
+        Optional<QueryPlanInspector.PlanSummary> plan = planInspector.inspect(query);
+        if (preflight && plan.isPresent()) {
+            checkPlan(plan.get());
+        }
+        boolean heavy = plan.map(summary -> summary.estimatedRows() >= heavyEstimatedRows).orElse(true);
+        if (heavy) {
+            acquireHeavyPermit();
+        }
+        AccessMode accessMode = plan.filter(QueryPlanInspector.PlanSummary::readOnly).isPresent()
+            ? AccessMode.READ
+            : AccessMode.WRITE;
+        return new Admission(
+            TransactionConfig.builder().withTimeout(resolveTimeout(queryRequest.getTimeoutMs())).build(),
+            accessMode,
+            accessMode == AccessMode.READ
+                ? resolveMaxRows(queryRequest.getMaxRows(), streaming ? streamMaxRows : maxRows)
+                : Long.MAX_VALUE,
+            heavy ? heavyPermits : null
+        );
+    }
+
+    private void checkPlan(QueryPlanInspector.PlanSummary plan) {
+        for (String operator : plan.operators()) {
+            if (forbiddenOperators.contains(operator.toLowerCase(Locale.ROOT))) {
+                reject("forbidden-operator");
+                throw new QueryRejectedException("Query plan uses " + operator + ", which is not allowed");
+            }
+        }
+        if (plan.estimatedRows() > maxEstimatedRows) {
+            reject("estimated-rows");
+            throw new QueryRejectedException(String.format(Locale.ROOT,
+                "Query plan estimates %.0f rows, the budget is %.0f", plan.estimatedRows(), maxEstimatedRows));
+        }
+    }
+
+    private void acquireHeavyPermit() {
+        try {
+            if (!heavyPermits.tryAcquire(heavyAcquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                reject("heavy-capacity");
+                throw new QueryThrottledException(
+                    "All " + maxConcurrentHeavy + " slots for heavy queries are busy, retry later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryThrottledException("Interrupted while waiting for a heavy query slot");
+        }
+    }
+
+    private Duration resolveTimeout(Long timeoutMs) {
+        if (timeoutMs == null || timeoutMs <= 0) {
+            return defaultTimeout;
+        }
+        Duration requested = Duration.ofMillis(timeoutMs);
+        return requested.compareTo(maxTimeout) > 0 ? maxTimeout : requested;
+    }
+
+    private static long resolveMaxRows(Long requested, long limit) {
+        if (requested == null || requested <= 0) {
+            return limit;
+        }
+        return Math.min(requested, limit);
+    }
+
+    private void reject(String reason) {
+        Counter.builder("graph.query.rejected").tag("reason", reason).register(meterRegistry).increment();
+    }
+
+    /**
+     * Result of {@link #admit}: how to run the query, and the heavy query slot to release
+     */
+    public final class Admission implements AutoCloseable {
+
+        private final TransactionConfig transactionConfig;
+        private final AccessMode accessMode;
+        private final long maxRows;
+        private Semaphore permit;
+
+        private Admission(TransactionConfig transactionConfig, AccessMode accessMode, long maxRows, Semaphore permit) {
+            this.transactionConfig = transactionConfig;
+            this.accessMode = accessMode;
+            this.maxRows = maxRows;
+            this.permit = permit;
+        }
+
+        public TransactionConfig transactionConfig() {
+            return transactionConfig;
+        }
+
+        public AccessMode accessMode() {
+            return accessMode;
+        }
+
+        /**
+         * @param rows Number of rows pulled so far, including the current one
+         * @throws QueryRejectedException once the row limit of a read-only query is exceeded
+         */
+        public void checkRows(long rows) {
+            if (rows > maxRows) {
+                reject("max-rows");
+                throw new QueryRejectedException(
+                    "Query returned more than " + maxRows + " rows, add a LIMIT or narrow the query");
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            if (permit != null) {
+                permit.release();
+                permit = null;
+            }
+        }
+    }
+}
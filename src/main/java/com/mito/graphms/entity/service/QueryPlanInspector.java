@@ -0,0 +1,90 @@
+package com.mito.graphms.entity.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.summary.Plan;
+import org.neo4j.driver.summary.QueryType;
+import org.neo4j.driver.summary.ResultSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Plans custom Cypher statements with {@code EXPLAIN}, which does not execute them,
+ * and caches a summary of the plan per query text: whether the statement is
+ * read-only, which operators it uses and the largest row estimate of any operator.
+ * Normalised statements (see {@link QueryShapeRegistry}) carry no literals, so one
+ * entry serves every call of the same shape.
+ */
+@Component
+public class QueryPlanInspector {
+
+    private final Driver neo4jDriver;
+    private final Cache<String, PlanSummary> plans;
+
+    @Autowired
+    public QueryPlanInspector(
+        Driver neo4jDriver,
+        MeterRegistry meterRegistry,
+        @Value("${mito.graph.query.plans.maximum-size:1000}") long maximumSize
+    ) {
+        this.neo4jDriver = neo4jDriver;
+        this.plans = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, plans, "graph.query.plans");
+    }
+
+    /**
+     * @param query Cypher statement
+     * @return Plan summary, empty if the statement cannot be planned (not cached, the
+     *         execution will report the error)
+     */
+    public Optional<PlanSummary> inspect(String query) {
+        return Optional.ofNullable(plans.get(query, this::explain));
+    }
+
+    private PlanSummary explain(String query) {
+        // Planned on the leader: a write statement must not be sent to a read session
+        try (Session session = neo4jDriver.session()) {
+            ResultSummary summary = session.run("EXPLAIN " + query, Map.of()).consume();
+            PlanSummary plan = new PlanSummary(summary.queryType() == QueryType.READ_ONLY, new HashSet<>(), 0);
+            if (summary.hasPlan()) {
+                plan = collect(summary.plan(), plan);
+            }
+            return new PlanSummary(plan.readOnly(), Set.copyOf(plan.operators()), plan.estimatedRows());
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static PlanSummary collect(Plan plan, PlanSummary summary) {
+        String operator = plan.operatorType();
+        int suffix = operator.indexOf('@');
+        summary.operators().add(suffix >= 0 ? operator.substring(0, suffix) : operator);
+        org.neo4j.driver.Value estimate = plan.arguments().get("EstimatedRows");
+        double estimatedRows = estimate != null && !estimate.isNull()
+            ? Math.max(summary.estimatedRows(), estimate.asDouble())
+            : summary.estimatedRows();
+        PlanSummary result = new PlanSummary(summary.readOnly(), summary.operators(), estimatedRows);
+        for (Plan child : plan.children()) {
+            result = collect(child, result);
+        }
+        return result;
+    }
+
+    /**
+     * @param readOnly Whether the statement only reads
+     * @param operators Operator types used by the plan, without the planner suffix
+     * @param estimatedRows Largest row estimate of any operator of the plan
+     */
+    public record PlanSummary(boolean readOnly, Set<String> operators, double estimatedRows) {
+    }
+}
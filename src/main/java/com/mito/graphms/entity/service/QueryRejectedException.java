@@ -0,0 +1,15 @@
+package com.mito.graphms.entity.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A custom Cypher query refused by a query policy before reaching Neo4j
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class QueryRejectedException extends RuntimeException {
+
+    public QueryRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,202 @@
+package com.mito.graphms.entity.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.mito.graphms.dto.QueryRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in cache of custom query results, keyed on the normalised query and a hash of
+ * its parameters (see {@link QueryShapeRegistry}). Each entry lives for the TTL
+ * asked by the request, within a configured maximum, and the cache is bounded by
+ * the serialised size of the results. Only read-only queries are stored.
+ * <p>
+ * Any write through the service clears the whole cache: a custom query can read
+ * anything, so there is no finer dependency to track. A generation counter, bumped
+ * on every write and again when its transaction completes, keeps a read that raced
+ * with a write from storing its possibly stale result.
+ */
+@Component
+public class QueryResultCache {
+
+    private final boolean enabled;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    private final long maxEntryBytes;
+    private final Cache<Key, Entry> results;
+    private final AtomicLong generation = new AtomicLong();
+    private final ObjectMapper keyMapper;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public QueryResultCache(
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry,
+        @Value("${mito.graph.query.cache.enabled:false}") boolean enabled,
+        @Value("${mito.graph.query.cache.default-ttl:10s}") Duration defaultTtl,
+        @Value("${mito.graph.query.cache.max-ttl:5m}") Duration maxTtl,
+        @Value("${mito.graph.query.cache.maximum-bytes:67108864}") long maximumBytes,
+        @Value("${mito.graph.query.cache.max-entry-bytes:4194304}") long maxEntryBytes
+    ) {
+        this.enabled = enabled;
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+        this.maxEntryBytes = maxEntryBytes;
+        this.objectMapper = objectMapper;
+        // Sorted map keys: equal parameter maps always serialise, and hash, the same way
+        this.keyMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        this.results = Caffeine.newBuilder()
+            .maximumWeight(maximumBytes)
+            .weigher((Key key, Entry entry) -> (int) Math.min(Integer.MAX_VALUE, entry.bytes()))
+            .expireAfter(new Expiry<Key, Entry>() {
+                @Override
+                public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+                    return entry.ttl().toNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+                    return entry.ttl().toNanos();
+                }
+
+                @Override
+                public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "graph.query.results");
+    }
+
+    /**
+     * @param queryRequest Client request, with its optional TTL hint
+     * @return TTL for the result of the request, empty when it must not be cached
+     */
+    public Optional<Duration> ttlFor(QueryRequest queryRequest) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Long hint = queryRequest.getCacheTtlMs();
+        if (hint == null) {
+            return Optional.of(defaultTtl);
+        }
+        if (hint <= 0) {
+            return Optional.empty();
+        }
+        Duration requested = Duration.ofMillis(hint);
+        return Optional.of(requested.compareTo(maxTtl) > 0 ? maxTtl : requested);
+    }
+
+    /**
+     * @return Current generation, to pass to {@link #put} once the query has run
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * @param query Normalised query
+     * @param parameters Parameters of the normalised query
+     * @return Cached rows, empty on a miss
+     */
+    public Optional<List<Map<String, Object>>> get(String query, Map<String, Object> parameters) {
+        return key(query, parameters).map(results::getIfPresent).map(Entry::rows);
+    }
+
+    /**
+     * Store a result, unless a write happened since {@code startGeneration} or the
+     * result is larger than the per-entry limit
+     *
+     * @param query Normalised query
+     * @param parameters Parameters of the normalised query
+     * @param rows Rows returned by the query
+     * @param ttl Time to live of the entry
+     * @param startGeneration Generation read before the query was executed
+     * @return Rows as stored, unmodifiable
+     */
+    public List<Map<String, Object>> put(
+        String query,
+        Map<String, Object> parameters,
+        List<Map<String, Object>> rows,
+        Duration ttl,
+        long startGeneration
+    ) {
+        List<Map<String, Object>> stored = List.copyOf(rows);
+        Optional<Key> key = key(query, parameters);
+        long bytes = size(stored);
+        if (key.isEmpty() || bytes < 0 || bytes > maxEntryBytes) {
+            return stored;
+        }
+        results.asMap().compute(key.get(), (ignored, previous) ->
+            generation.get() == startGeneration ? new Entry(stored, bytes, ttl) : previous);
+        return stored;
+    }
+
+    /**
+     * Drop every cached result, now and again when the current transaction completes
+     */
+    public void invalidateAll() {
+        if (!enabled) {
+            return;
+        }
+        evictAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictAll();
+                }
+            });
+        }
+    }
+
+    private void evictAll() {
+        generation.incrementAndGet();
+        results.invalidateAll();
+    }
+
+    private Optional<Key> key(String query, Map<String, Object> parameters) {
+        try {
+            byte[] canonical = keyMapper.writeValueAsBytes(parameters != null ? parameters : Map.of());
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical);
+            return Optional.of(new Key(query, HexFormat.of().formatHex(digest)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            return Optional.empty();
+        }
+    }
+
+    // Serialised size of the rows, the weight of the entry; -1 if they cannot be serialised
+    private long size(List<Map<String, Object>> rows) {
+        try {
+            return objectMapper.writeValueAsBytes(rows).length;
+        } catch (JsonProcessingException e) {
+            return -1;
+        }
+    }
+
+    private record Key(String query, String parametersHash) {
+    }
+
+    private record Entry(List<Map<String, Object>> rows, long bytes, Duration ttl) {
+    }
+}
@@ -0,0 +1,152 @@
+package com.mito.graphms.entity.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mito.graphms.dto.QueryRequest;
+import com.mito.graphms.dto.QueryShapeStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Normalises the custom Cypher queries before execution and keeps usage statistics
+ * per normalised shape in a size bounded cache. With auto-parameterisation enabled
+ * the literals of a query are moved into parameters (see {@link CypherParameterizer}),
+ * so every call of the same shape reuses one Neo4j plan. Queries sent with more
+ * inline literals than the configured threshold are logged once per shape, or
+ * rejected when the policy is {@code REJECT}.
+ */
+@Component
+public class QueryShapeRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryShapeRegistry.class);
+
+    public enum Policy {
+        WARN,
+        REJECT
+    }
+
+    private final boolean autoParameterise;
+    private final int maxInlineLiterals;
+    private final Policy policy;
+    private final Cache<String, ShapeStats> shapes;
+    private final Counter extractedLiterals;
+    private final Counter rejectedQueries;
+
+    @Autowired
+    public QueryShapeRegistry(
+        MeterRegistry meterRegistry,
+        @Value("${mito.graph.query.parameterisation.enabled:true}") boolean autoParameterise,
+        @Value("${mito.graph.query.parameterisation.max-inline-literals:20}") int maxInlineLiterals,
+        @Value("${mito.graph.query.parameterisation.policy:WARN}") Policy policy,
+        @Value("${mito.graph.query.shapes.maximum-size:1000}") long maximumSize
+    ) {
+        this.autoParameterise = autoParameterise;
+        this.maxInlineLiterals = maxInlineLiterals;
+        this.policy = policy;
+        this.shapes = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+        this.extractedLiterals = Counter.builder("graph.query.literals.extracted").register(meterRegistry);
+        this.rejectedQueries = Counter.builder("graph.query.rejected").tag("reason", "inline-literals").register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, shapes, "graph.query.shapes");
+    }
+
+    /**
+     * Normalise a query and apply the inline literal policy
+     *
+     * @param queryRequest Query and parameters as sent by the client
+     * @return Query to execute, with its shape
+     * @throws QueryRejectedException if the query has too many inline literals and the policy is REJECT
+     */
+    public PreparedQuery prepare(QueryRequest queryRequest) {
+        CypherParameterizer.Result normalised =
+            CypherParameterizer.parameterize(queryRequest.getQuery(), queryRequest.getParameters());
+        ShapeStats stats = shapes.get(normalised.query(), shape -> new ShapeStats());
+        if (normalised.literals() > maxInlineLiterals) {
+            if (policy == Policy.REJECT) {
+                rejectedQueries.increment();
+                throw new QueryRejectedException("Query has " + normalised.literals() +
+                    " inline literals, the limit is " + maxInlineLiterals + ": pass the values as parameters");
+            }
+            if (stats.warned.compareAndSet(false, true)) {
+                log.warn("Custom query with {} inline literals, consider passing them as parameters: {}",
+                    normalised.literals(), normalised.query());
+            }
+        }
+        if (normalised.literals() > 0) {
+            stats.inlineLiteralExecutions.increment();
+        }
+        if (!autoParameterise) {
+            Map<String, Object> parameters = queryRequest.getParameters() != null ? queryRequest.getParameters() : Map.of();
+            return new PreparedQuery(queryRequest.getQuery(), parameters, normalised.query(), stats);
+        }
+        extractedLiterals.increment(normalised.literals());
+        return new PreparedQuery(normalised.query(), normalised.parameters(), normalised.query(), stats);
+    }
+
+    /**
+     * @param limit Maximum number of shapes
+     * @return Most executed shapes first
+     */
+    public List<QueryShapeStats> topShapes(int limit) {
+        return shapes.asMap().entrySet().stream()
+            .map(entry -> entry.getValue().snapshot(entry.getKey()))
+            .sorted(Comparator.comparingLong(QueryShapeStats::getExecutions).reversed())
+            .limit(Math.max(0, limit))
+            .toList();
+    }
+
+    /**
+     * A query ready to run, bound to the statistics of its shape
+     *
+     * @param query Query to execute, normalised when auto-parameterisation is enabled
+     * @param parameters Parameters to execute it with
+     * @param shape Normalised shape of the query
+     * @param stats Statistics of the shape
+     */
+    public record PreparedQuery(String query, Map<String, Object> parameters, String shape, ShapeStats stats) {
+
+        /**
+         * @param elapsedNanos Wall time of the execution, including the consumption of the rows
+         */
+        public void recordExecution(long elapsedNanos) {
+            stats.executions.increment();
+            stats.totalNanos.add(elapsedNanos);
+            stats.maxNanos.accumulate(elapsedNanos);
+            stats.lastExecutedAt = System.currentTimeMillis();
+        }
+    }
+
+    static final class ShapeStats {
+
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder inlineLiteralExecutions = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicBoolean warned = new AtomicBoolean();
+        private volatile long lastExecutedAt;
+
+        private QueryShapeStats snapshot(String shape) {
+            return new QueryShapeStats(
+                shape,
+                executions.sum(),
+                inlineLiteralExecutions.sum(),
+                totalNanos.sum() / 1_000_000.0,
+                maxNanos.get() / 1_000_000.0,
+                lastExecutedAt > 0 ? Instant.ofEpochMilli(lastExecutedAt) : null
+            );
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.mito.graphms.entity.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A request refused because the capacity reserved for it is exhausted; the client
+ * should retry later
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class QueryThrottledException extends RuntimeException {
+
+    public QueryThrottledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,149 @@
+package com.mito.graphms.entity.service;
+
+import com.mito.graphms.domain.entity.GraphNode;
+import com.mito.graphms.domain.entity.GraphRelationship;
+import com.mito.graphms.dto.QueryRequest;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.TransactionConfig;
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.reactivestreams.ReactiveSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking counterpart of the read and query operations of {@link Neo4jDataService},
+ * built on the driver's reactive sessions. No thread is held while waiting for
+ * Neo4j: records are requested from the server only as fast as the subscriber
+ * (ultimately the HTTP client) consumes them, and a request waiting for a pooled
+ * connection does not occupy a thread either, so concurrency is bounded by the
+ * driver pool rather than by the servlet thread pool.
+ */
+@Service
+public class ReactiveGraphService {
+
+    private final Neo4jSessionFactory sessionFactory;
+    private final GraphRecordMapper recordMapper;
+    private final QueryShapeRegistry queryShapes;
+    private final QueryGuard queryGuard;
+    private final GraphNodeCache nodeCache;
+    private final QueryResultCache queryResultCache;
+    private final GraphStatsService statsService;
+
+    @Value("${mito.graph.stream.fetch-size:1000}")
+    private int streamFetchSize;
+
+    @Autowired
+    public ReactiveGraphService(
+        Neo4jSessionFactory sessionFactory,
+        GraphRecordMapper recordMapper,
+        QueryShapeRegistry queryShapes,
+        QueryGuard queryGuard,
+        GraphNodeCache nodeCache,
+        QueryResultCache queryResultCache,
+        GraphStatsService statsService
+    ) {
+        this.sessionFactory = sessionFactory;
+        this.recordMapper = recordMapper;
+        this.queryShapes = queryShapes;
+        this.queryGuard = queryGuard;
+        this.nodeCache = nodeCache;
+        this.queryResultCache = queryResultCache;
+        this.statsService = statsService;
+    }
+
+    /**
+     * @return All nodes without relationships, in cursor order
+     */
+    public Flux<GraphNode> findAllNodes() {
+        return records("MATCH (n:ITEM) RETURN n", Map.of(), AccessMode.READ, TransactionConfig.empty())
+            .map(record -> recordMapper.toNode(record.get("n")));
+    }
+
+    /**
+     * @param id Internal ID of the node
+     * @return Node without relationships, empty if not found
+     */
+    public Mono<GraphNode> findNodeById(String id) {
+        return records("MATCH (n:ITEM {id: $id}) RETURN n", Map.of("id", id), AccessMode.READ, TransactionConfig.empty())
+            .next()
+            .map(record -> recordMapper.toNode(record.get("n")));
+    }
+
+    /**
+     * @param cbdbId CBDB ID of the node
+     * @return Node without relationships, empty if not found
+     */
+    public Mono<GraphNode> findNodeByCbdbId(String cbdbId) {
+        return records("MATCH (n:ITEM {cbdb_id: $cbdbId}) RETURN n", Map.of("cbdbId", cbdbId), AccessMode.READ, TransactionConfig.empty())
+            .next()
+            .map(record -> recordMapper.toNode(record.get("n")));
+    }
+
+    /**
+     * @return All relationships between ITEM nodes with their endpoints, in cursor order
+     */
+    public Flux<GraphRelationship> findAllRelationships() {
+        return records("MATCH (s:ITEM)-[r]->(t:ITEM) RETURN s, r, t", Map.of(), AccessMode.READ, TransactionConfig.empty())
+            .map(recordMapper::toRelationship);
+    }
+
+    /**
+     * Execute a custom Cypher query. As in {@link Neo4jDataService}, queries that may
+     * write clear the caches and trigger a stats recount once they complete.
+     *
+     * @param queryRequest Query and parameters
+     * @return Rows keyed by column name, in result order
+     */
+    public Flux<Map<String, Object>> executeQuery(QueryRequest queryRequest) {
+        QueryShapeRegistry.PreparedQuery prepared = queryShapes.prepare(queryRequest);
+        long start = System.nanoTime();
+        // Admission may plan the query with a blocking EXPLAIN and wait for a heavy query
+        // slot, both kept off the subscribing thread
+        return Flux.usingWhen(
+                Mono.fromCallable(() -> queryGuard.admit(prepared.query(), queryRequest, true))
+                    .subscribeOn(Schedulers.boundedElastic()),
+                admission -> {
+                    AtomicLong rows = new AtomicLong();
+                    return records(prepared.query(), prepared.parameters(), admission.accessMode(), admission.transactionConfig())
+                        .doOnNext(record -> admission.checkRows(rows.incrementAndGet()));
+                },
+                admission -> Mono.fromRunnable(() -> {
+                    try {
+                        if (admission.accessMode() == AccessMode.WRITE) {
+                            nodeCache.invalidateAll();
+                            queryResultCache.invalidateAll();
+                            statsService.requestReconcile();
+                        }
+                    } finally {
+                        admission.close();
+                    }
+                })
+            )
+            .map(recordMapper::toRow)
+            .doFinally(signal -> prepared.recordExecution(System.nanoTime() - start));
+    }
+
+    /**
+     * Run a query in its own session, closed when the records complete, fail or are cancelled
+     */
+    private Flux<Record> records(
+        String query,
+        Map<String, Object> parameters,
+        AccessMode accessMode,
+        TransactionConfig transactionConfig
+    ) {
+        return Flux.usingWhen(
+            Mono.fromSupplier(() -> sessionFactory.reactiveSession(accessMode, streamFetchSize)),
+            session -> Flux.from(session.run(query, parameters, transactionConfig))
+                .flatMap(result -> Flux.from(result.records())),
+            ReactiveSession::close
+        );
+    }
+}
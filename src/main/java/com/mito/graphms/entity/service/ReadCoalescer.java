@@ -0,0 +1,119 @@
+package com.mito.graphms.entity.service;
+
+import com.mito.graphms.configuration.Neo4jBookmarkHeaders;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical reads: while a read for a key is in flight,
+ * further callers with the same key wait for it and share its result (or its
+ * failure) instead of sending their own query, so Neo4j sees at most one query per
+ * distinct key however many requests arrive at once. Nothing is kept once the read
+ * completes; this is not a cache.
+ * <p>
+ * Shared results are handed to every waiting caller and must not be modified.
+ * Callers already inside a transaction are never coalesced, they may need to see
+ * their own uncommitted writes. Neither are requests carrying {@code Neo4j-Bookmark}
+ * headers: a read started without their bookmarks may run on a member that has not
+ * applied their writes yet.
+ */
+@Component
+public class ReadCoalescer {
+
+    private final boolean enabled;
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+    private final Map<Flight, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReadCoalescer(
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${mito.graph.coalescing.enabled:true}") boolean enabled
+    ) {
+        this.enabled = enabled;
+        this.meterRegistry = meterRegistry;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        Gauge.builder("graph.reads.inflight", inFlight, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Run a read, or join the identical one already in flight
+     *
+     * @param operation Name of the read, part of the key and of the metrics
+     * @param key Arguments of the read; equal keys must produce equal results
+     * @param loader Read to run when no identical read is in flight
+     * @return Result of the read
+     */
+    public <T> T execute(String operation, Object key, Supplier<T> loader) {
+        if (!coalescing()) {
+            return loader.get();
+        }
+        Flight flight = new Flight(operation, key);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(flight, mine);
+        if (running != null) {
+            Counter.builder("graph.reads.coalesced").tag("operation", operation).register(meterRegistry).increment();
+            return join(running);
+        }
+        try {
+            T result = loader.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flight, mine);
+        }
+    }
+
+    /**
+     * Same as {@link #execute}, with the leading read run in its own read-only
+     * transaction: callers waiting for it do not hold a session meanwhile
+     */
+    public <T> T executeReadOnly(String operation, Object key, Supplier<T> loader) {
+        if (!coalescing()) {
+            return readOnlyTransaction.execute(status -> loader.get());
+        }
+        return execute(operation, key, () -> readOnlyTransaction.execute(status -> loader.get()));
+    }
+
+    private boolean coalescing() {
+        return enabled
+            && !TransactionSynchronizationManager.isActualTransactionActive()
+            && Neo4jBookmarkHeaders.fromCurrentRequest().isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T join(CompletableFuture<Object> running) {
+        try {
+            return (T) running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private record Flight(String operation, Object key) {
+    }
+}
@@ -0,0 +1,175 @@
+package com.mito.graphms.entity.service;
+
+import com.mito.graphms.dto.SchemaIndexStatus;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Declares the constraint and indexes the {@code ITEM} lookups rely on and applies
+ * them at startup, before the web server accepts requests. Every statement uses
+ * {@code IF NOT EXISTS}, so applying the schema is a no-op on an up to date
+ * database and safe to run from every instance. Once created, the manager waits
+ * for the indexes to finish populating, within a configured timeout; without them
+ * {@code MATCH (n:ITEM {cbdb_id: ...})} and the other hot lookups are label scans.
+ * <p>
+ * A statement that fails (e.g. the unique constraint on a database that already
+ * holds duplicate CBDB IDs) is logged and reported by {@link #status()}, it does
+ * not stop the application. If it is the unique constraint, a plain range index
+ * {@code item_cbdb_id} is created in its place so the CBDB ID lookups stay index
+ * seeks; once the duplicates are removed, drop that index and the constraint is
+ * created on the next startup.
+ */
+@Component
+public class SchemaManager implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaManager.class);
+
+    private static final String SHOW_INDEXES =
+        "SHOW INDEXES YIELD name, type, labelsOrTypes, properties, state, populationPercent, owningConstraint " +
+        "WHERE 'ITEM' IN labelsOrTypes " +
+        "RETURN name, type, properties, state, populationPercent, owningConstraint ORDER BY name";
+
+    // Schema of the ITEM label, by index or constraint name
+    private static final Map<String, String> DECLARED = declared();
+
+    // Index created in place of a declared statement that failed, by declared name
+    private static final Map<String, Fallback> FALLBACKS = Map.of(
+        "item_cbdb_id_unique",
+        new Fallback("item_cbdb_id", "CREATE INDEX item_cbdb_id IF NOT EXISTS FOR (n:ITEM) ON (n.cbdb_id)")
+    );
+
+    private record Fallback(String name, String statement) {
+    }
+
+    private final Neo4jSessionFactory sessionFactory;
+    private final boolean enabled;
+    private final Duration awaitTimeout;
+    private final Map<String, String> errors = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SchemaManager(
+        Neo4jSessionFactory sessionFactory,
+        @Value("${mito.graph.schema.enabled:true}") boolean enabled,
+        @Value("${mito.graph.schema.await-timeout:5m}") Duration awaitTimeout
+    ) {
+        this.sessionFactory = sessionFactory;
+        this.enabled = enabled;
+        this.awaitTimeout = awaitTimeout;
+    }
+
+    private static Map<String, String> declared() {
+        Map<String, String> schema = new LinkedHashMap<>();
+        schema.put("item_cbdb_id_unique",
+            "CREATE CONSTRAINT item_cbdb_id_unique IF NOT EXISTS FOR (n:ITEM) REQUIRE n.cbdb_id IS UNIQUE");
+        schema.put("item_id", "CREATE INDEX item_id IF NOT EXISTS FOR (n:ITEM) ON (n.id)");
+        schema.put("item_item_type", "CREATE INDEX item_item_type IF NOT EXISTS FOR (n:ITEM) ON (n.itemType)");
+        schema.put("item_status", "CREATE INDEX item_status IF NOT EXISTS FOR (n:ITEM) ON (n.status)");
+        schema.put("item_importance", "CREATE INDEX item_importance IF NOT EXISTS FOR (n:ITEM) ON (n.importance)");
+        schema.put("item_loc_id", "CREATE INDEX item_loc_id IF NOT EXISTS FOR (n:ITEM) ON (n.loc_id)");
+        schema.put("item_point", "CREATE POINT INDEX item_point IF NOT EXISTS FOR (n:ITEM) ON (n.point)");
+        return Collections.unmodifiableMap(schema);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            apply();
+        }
+    }
+
+    /**
+     * Create the missing constraint and indexes, then wait for them to come online
+     *
+     * @return Whether every declared statement succeeded and the indexes are online
+     */
+    public boolean apply() {
+        boolean applied = true;
+        try (Session session = sessionFactory.writeSession()) {
+            for (Map.Entry<String, String> statement : DECLARED.entrySet()) {
+                try {
+                    session.run(statement.getValue()).consume();
+                    errors.remove(statement.getKey());
+                    Fallback fallback = FALLBACKS.get(statement.getKey());
+                    if (fallback != null) {
+                        errors.remove(fallback.name());
+                    }
+                } catch (RuntimeException e) {
+                    applied = false;
+                    errors.put(statement.getKey(), String.valueOf(e.getMessage()));
+                    log.warn("Could not apply schema {}: {}", statement.getKey(), e.getMessage());
+                    applyFallback(session, statement.getKey());
+                }
+            }
+            session.run("CALL db.awaitIndexes($seconds)", Map.of("seconds", awaitTimeout.toSeconds())).consume();
+            log.info("Schema applied, {} declared indexes online", DECLARED.size() - errors.size());
+        } catch (RuntimeException e) {
+            applied = false;
+            log.warn("Schema not applied or indexes not online yet: {}", e.getMessage());
+        }
+        return applied;
+    }
+
+    private void applyFallback(Session session, String declaredName) {
+        Fallback fallback = FALLBACKS.get(declaredName);
+        if (fallback == null) {
+            return;
+        }
+        try {
+            session.run(fallback.statement()).consume();
+            errors.put(fallback.name(), "Fallback for " + declaredName + ", which could not be applied");
+            log.warn("Created index {} in place of {}", fallback.name(), declaredName);
+        } catch (RuntimeException e) {
+            errors.put(fallback.name(), String.valueOf(e.getMessage()));
+            log.warn("Could not apply fallback schema {}: {}", fallback.name(), e.getMessage());
+        }
+    }
+
+    private static boolean isDeclared(String name) {
+        return DECLARED.containsKey(name)
+            || FALLBACKS.values().stream().anyMatch(fallback -> fallback.name().equals(name));
+    }
+
+    /**
+     * @return Every index on {@code ITEM} with its population state, plus the declared
+     *         indexes that could not be created; a fallback index in use reports which
+     *         declared statement it replaces in its error
+     */
+    public List<SchemaIndexStatus> status() {
+        List<SchemaIndexStatus> statuses = new ArrayList<>();
+        try (Session session = sessionFactory.readSession()) {
+            for (Record record : session.run(SHOW_INDEXES).list()) {
+                String name = record.get("name").asString();
+                statuses.add(new SchemaIndexStatus(
+                    name,
+                    record.get("type").asString(),
+                    record.get("properties").asList(value -> value.asString(null)),
+                    record.get("state").asString(),
+                    record.get("populationPercent").asDouble(0),
+                    record.get("owningConstraint").asString(null),
+                    isDeclared(name),
+                    errors.get(name)
+                ));
+            }
+        }
+        for (String name : DECLARED.keySet()) {
+            if (statuses.stream().noneMatch(status -> status.getName().equals(name))) {
+                statuses.add(new SchemaIndexStatus(name, null, List.of(), "MISSING", 0, null, true, errors.get(name)));
+            }
+        }
+        return statuses;
+    }
+}
@@ -0,0 +1,15 @@
+package com.mito.graphms.entity.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The status update queue is full: the writer is behind, the client should retry later
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class StatusQueueFullException extends RuntimeException {
+
+    public StatusQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,175 @@
+package com.mito.graphms.entity.service;
+
+import com.mito.graphms.dto.StatusUpdate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous ingestion of item status changes. Request threads append updates to
+ * a bounded {@link MpscRingBuffer} and return at once; a single writer thread drains
+ * it, coalesces the updates per CBDB ID (last write wins, field by field) and writes
+ * them with one UNWIND transaction per batch, as soon as a batch is full or the
+ * flush interval has elapsed since the oldest pending update. A full ring is
+ * reported to the caller ({@link StatusQueueFullException}, 429) instead of blocking.
+ * <p>
+ * Accepted updates are not durable until flushed. A failed batch is kept and retried
+ * at the next flush, under any newer update of the same item; while the writer is
+ * failing the ring fills up and clients are pushed back.
+ */
+@Component
+public class StatusUpdateQueue implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(StatusUpdateQueue.class);
+
+    private final Neo4jDataService neo4jDataService;
+    private final MpscRingBuffer<StatusUpdate> ring;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter coalesced;
+    private final Counter failed;
+    private final Timer flushTimer;
+    private final Thread writer;
+
+    // Owned by the writer thread
+    private final Map<String, StatusUpdate> pending = new LinkedHashMap<>();
+    private long oldestPendingNanos;
+    private volatile boolean running = true;
+
+    @Autowired
+    public StatusUpdateQueue(
+        Neo4jDataService neo4jDataService,
+        MeterRegistry meterRegistry,
+        @Value("${mito.graph.status-queue.capacity:65536}") int capacity,
+        @Value("${mito.graph.status-queue.batch-size:2000}") int batchSize,
+        @Value("${mito.graph.status-queue.flush-interval:100ms}") Duration flushInterval
+    ) {
+        this.neo4jDataService = neo4jDataService;
+        this.ring = new MpscRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.accepted = Counter.builder("graph.status.updates").tag("outcome", "accepted").register(meterRegistry);
+        this.rejected = Counter.builder("graph.status.updates").tag("outcome", "rejected").register(meterRegistry);
+        this.coalesced = Counter.builder("graph.status.updates").tag("outcome", "coalesced").register(meterRegistry);
+        this.failed = Counter.builder("graph.status.updates").tag("outcome", "failed").register(meterRegistry);
+        this.flushTimer = Timer.builder("graph.status.flush").register(meterRegistry);
+        Gauge.builder("graph.status.queue.depth", ring, MpscRingBuffer::size).register(meterRegistry);
+        Gauge.builder("graph.status.queue.capacity", ring, MpscRingBuffer::capacity).register(meterRegistry);
+        this.writer = new Thread(this::run, "graph-status-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queue a status change
+     *
+     * @param update Change to apply, with its CBDB ID
+     * @throws StatusQueueFullException if the queue is full
+     */
+    public void submit(StatusUpdate update) {
+        if (!running || !ring.offer(update)) {
+            rejected.increment();
+            throw new StatusQueueFullException(
+                "Status update queue is full (" + ring.capacity() + " updates), retry later");
+        }
+        accepted.increment();
+        if (ring.size() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    private void run() {
+        while (running) {
+            drain();
+            long now = System.nanoTime();
+            if (pending.size() >= batchSize || (!pending.isEmpty() && now - oldestPendingNanos >= flushIntervalNanos)) {
+                if (!flush()) {
+                    // Back off instead of hammering a failing database
+                    LockSupport.parkNanos(this, flushIntervalNanos);
+                }
+            } else {
+                long wait = pending.isEmpty() ? flushIntervalNanos : flushIntervalNanos - (now - oldestPendingNanos);
+                LockSupport.parkNanos(this, wait);
+            }
+        }
+        // Shutdown: write what was accepted, one attempt per batch
+        drain();
+        while (!pending.isEmpty()) {
+            if (!flush()) {
+                log.warn("Dropping {} status updates not written before shutdown", pending.size() + ring.size());
+                break;
+            }
+            drain();
+        }
+    }
+
+    private void drain() {
+        StatusUpdate update;
+        while (pending.size() < batchSize && (update = ring.poll()) != null) {
+            StatusUpdate previous = pending.get(update.getCbdbId());
+            if (previous == null) {
+                if (pending.isEmpty()) {
+                    oldestPendingNanos = System.nanoTime();
+                }
+                pending.put(update.getCbdbId(), update);
+            } else {
+                coalesced.increment();
+                pending.put(update.getCbdbId(), merge(previous, update));
+            }
+        }
+    }
+
+    private boolean flush() {
+        List<StatusUpdate> batch = new ArrayList<>(pending.values());
+        pending.clear();
+        long start = System.nanoTime();
+        try {
+            neo4jDataService.updateStatuses(batch);
+            return true;
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            log.warn("Status flush of {} items failed, retrying at the next flush", batch.size(), e);
+            // Nothing was drained meanwhile, this is the only thread touching pending
+            for (StatusUpdate update : batch) {
+                pending.put(update.getCbdbId(), update);
+            }
+            oldestPendingNanos = System.nanoTime();
+            return false;
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Field by field: a later update that only carries a status keeps the earlier detail
+    private static StatusUpdate merge(StatusUpdate earlier, StatusUpdate later) {
+        return new StatusUpdate(
+            later.getCbdbId(),
+            later.getStatus() != null ? later.getStatus() : earlier.getStatus(),
+            later.getStatusDetail() != null ? later.getStatusDetail() : earlier.getStatusDetail()
+        );
+    }
+}
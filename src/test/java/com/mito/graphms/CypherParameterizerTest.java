@@ -0,0 +1,67 @@
+package com.mito.graphms;
+
+import com.mito.graphms.entity.service.CypherParameterizer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CypherParameterizerTest {
+
+    @Test
+    @DisplayName("Test literal extraction and normalisation")
+    public void testLiterals() {
+        CypherParameterizer.Result result = CypherParameterizer.parameterize(
+            "MATCH (n:ITEM)\n  WHERE n.cbdb_id = 'CI-42' AND n.importance > 2.5 // hot items\nRETURN n LIMIT 10",
+            Map.of()
+        );
+        assertEquals("MATCH (n:ITEM) WHERE n.cbdb_id = $p0 AND n.importance > $p1 RETURN n LIMIT $p2", result.query());
+        assertEquals(Map.of("p0", "CI-42", "p1", 2.5, "p2", 10L), result.parameters());
+        assertEquals(3, result.literals());
+    }
+
+    @Test
+    @DisplayName("Test queries differing only in literals share a shape")
+    public void testSameShape() {
+        String first = CypherParameterizer.parameterize("MATCH (n {name: \"a\\\"b\"}) RETURN n", Map.of()).query();
+        String second = CypherParameterizer.parameterize("MATCH (n {name:  'c'})  RETURN n", Map.of()).query();
+        assertEquals(first, second);
+        assertEquals("a\"b", CypherParameterizer.parameterize("RETURN 'a\\\"b'", Map.of()).parameters().get("p0"));
+    }
+
+    @Test
+    @DisplayName("Test existing parameter names are not reused")
+    public void testParameterNames() {
+        CypherParameterizer.Result result = CypherParameterizer.parameterize(
+            "MATCH (n) WHERE n.a = $p0 AND n.b = 'x' AND n.c = $p1 RETURN n",
+            Map.of("p0", 1)
+        );
+        assertEquals("MATCH (n) WHERE n.a = $p0 AND n.b = $p2 AND n.c = $p1 RETURN n", result.query());
+        assertEquals(Map.of("p0", 1, "p2", "x"), result.parameters());
+    }
+
+    @Test
+    @DisplayName("Test literals Cypher requires inline are kept")
+    public void testRequiredLiterals() {
+        assertEquals(
+            "MATCH (a)-[:DEPENDS_ON*1..3]->(b) RETURN b[$p0..$p1]",
+            CypherParameterizer.parameterize("MATCH (a)-[:DEPENDS_ON*1..3]->(b) RETURN b[0..2]", Map.of()).query()
+        );
+        assertEquals(
+            "CALL { CREATE (:X) } IN TRANSACTIONS OF 500 ROWS",
+            CypherParameterizer.parameterize("CALL { CREATE (:X) } IN TRANSACTIONS OF 500 ROWS", Map.of()).query()
+        );
+        String schema = "CREATE INDEX item_status FOR (n:ITEM) ON (n.status) OPTIONS {indexProvider: 'range-1.0'}";
+        assertEquals(schema, CypherParameterizer.parameterize(schema, Map.of()).query());
+    }
+
+    @Test
+    @DisplayName("Test malformed queries are returned unchanged")
+    public void testMalformed() {
+        CypherParameterizer.Result result = CypherParameterizer.parameterize("MATCH (n) WHERE n.a = 'open", Map.of());
+        assertEquals("MATCH (n) WHERE n.a = 'open", result.query());
+        assertEquals(0, result.literals());
+    }
+}
@@ -0,0 +1,124 @@
+package com.mito.graphms;
+
+import com.mito.graphms.domain.entity.GraphNode;
+import com.mito.graphms.dto.CacheInvalidation;
+import com.mito.graphms.entity.service.GraphNodeCache;
+import com.mito.graphms.entity.service.LoopbackInvalidationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphNodeCacheTest {
+
+    private LoopbackInvalidationBus invalidationBus;
+    private GraphNodeCache nodeCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        invalidationBus = new LoopbackInvalidationBus();
+        nodeCache = newCache();
+        loads = new AtomicInteger();
+    }
+
+    private GraphNodeCache newCache() {
+        return new GraphNodeCache(
+            new SimpleMeterRegistry(), invalidationBus, true, 100, Duration.ofMinutes(1), Duration.ofSeconds(10));
+    }
+
+    private Optional<GraphNode> load(String cbdbId) {
+        loads.incrementAndGet();
+        GraphNode node = new GraphNode();
+        node.setId("ID_" + cbdbId);
+        node.setCbdbId(cbdbId);
+        return Optional.of(node);
+    }
+
+    @Test
+    @DisplayName("Hit after the first load")
+    public void testReadThrough() {
+        nodeCache.getByCbdbId("CACHE_NODE_001", this::load);
+        Optional<GraphNode> cached = nodeCache.getByCbdbId("CACHE_NODE_001", this::load);
+
+        assertTrue(cached.isPresent(), "Node should be found");
+        assertEquals(1, loads.get(), "Second read should be served by the cache");
+    }
+
+    @Test
+    @DisplayName("Invalidation forces a reload")
+    public void testInvalidate() {
+        nodeCache.getByCbdbId("CACHE_NODE_001", this::load);
+        nodeCache.getById("ID_CACHE_NODE_001", id -> load("CACHE_NODE_001"));
+
+        nodeCache.invalidate("ID_CACHE_NODE_001", "CACHE_NODE_001");
+        nodeCache.getByCbdbId("CACHE_NODE_001", this::load);
+        nodeCache.getById("ID_CACHE_NODE_001", id -> load("CACHE_NODE_001"));
+
+        assertEquals(4, loads.get(), "Both indexes should reload after invalidation");
+    }
+
+    @Test
+    @DisplayName("Missing nodes are not cached")
+    public void testMissNotCached() {
+        nodeCache.getByCbdbId("MISSING", cbdbId -> { loads.incrementAndGet(); return Optional.empty(); });
+        Optional<GraphNode> second = nodeCache.getByCbdbId("MISSING", this::load);
+
+        assertTrue(second.isPresent(), "A node created later should be visible");
+        assertEquals(2, loads.get(), "Empty lookups should not be cached");
+    }
+
+    @Test
+    @DisplayName("Writes on one replica evict the other replicas")
+    public void testRemoteInvalidation() {
+        GraphNodeCache otherReplica = newCache();
+        otherReplica.getByCbdbId("CACHE_NODE_001", this::load);
+
+        nodeCache.invalidate("ID_CACHE_NODE_001", "CACHE_NODE_001");
+        otherReplica.getByCbdbId("CACHE_NODE_001", this::load);
+
+        assertEquals(2, loads.get(), "The other replica should reload after a remote write");
+    }
+
+    @Test
+    @DisplayName("Invalidating everything evicts every replica")
+    public void testInvalidateAll() {
+        GraphNodeCache otherReplica = newCache();
+        nodeCache.getByCbdbId("CACHE_NODE_001", this::load);
+        otherReplica.getByCbdbId("CACHE_NODE_002", this::load);
+
+        nodeCache.invalidateAll();
+        nodeCache.getByCbdbId("CACHE_NODE_001", this::load);
+        otherReplica.getByCbdbId("CACHE_NODE_002", this::load);
+
+        assertEquals(4, loads.get(), "Both replicas should reload after a write with unknown keys");
+    }
+
+    @Test
+    @DisplayName("A load racing with an invalidation is not cached")
+    public void testInvalidationDuringLoad() {
+        nodeCache.getByCbdbId("CACHE_NODE_001", cbdbId -> {
+            // Another replica's invalidation arrives while this replica is still reading the old state
+            Thread receiver = new Thread(() -> invalidationBus.publish(
+                new CacheInvalidation("other-replica", 1, List.of(), List.of(cbdbId))));
+            receiver.start();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (receiver.getState() != Thread.State.BLOCKED
+                && receiver.getState() != Thread.State.TERMINATED
+                && System.currentTimeMillis() < deadline) {
+                Thread.onSpinWait();
+            }
+            return load(cbdbId);
+        });
+        nodeCache.getByCbdbId("CACHE_NODE_001", this::load);
+
+        assertEquals(2, loads.get(), "The stale load should not have been kept");
+    }
+}
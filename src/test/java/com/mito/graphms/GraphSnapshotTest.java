@@ -0,0 +1,76 @@
+package com.mito.graphms;
+
+import com.mito.graphms.entity.service.GraphSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphSnapshotTest {
+
+    private GraphSnapshot snapshot;
+
+    @BeforeEach
+    public void setUp() {
+        GraphSnapshot.Builder builder = GraphSnapshot.builder();
+        for (String cbdbId : List.of("A", "B", "C", "D")) {
+            builder.addNode(cbdbId, "Node " + cbdbId, "SERVER", "HIGH", "OK");
+        }
+        builder.addEdge("A", "B", "DEPENDS_ON", 5.0, true);
+        builder.addEdge("A", "C", "DEPENDS_ON", null, false);
+        builder.addEdge("C", "A", "CONNECTS_TO", 2.0, null);
+        builder.addEdge("B", "D", "CONNECTS_TO", null, null);
+        builder.addEdge("A", "UNKNOWN", "DEPENDS_ON", null, null);
+        snapshot = builder.build();
+    }
+
+    private List<String> neighbours(String cbdbId, boolean outgoing, Set<String> types) {
+        List<String> result = new ArrayList<>();
+        snapshot.forEachEdge(snapshot.indexOf(cbdbId), outgoing, types,
+            (neighbour, type, weight, active) -> result.add(snapshot.cbdbId(neighbour) + ":" + type));
+        return result;
+    }
+
+    @Test
+    @DisplayName("Test node interning")
+    public void testNodes() {
+        assertEquals(4, snapshot.nodeCount());
+        assertEquals(4, snapshot.edgeCount());
+        assertEquals(-1, snapshot.indexOf("UNKNOWN"));
+        int node = snapshot.indexOf("C");
+        assertEquals("C", snapshot.cbdbId(node));
+        assertEquals("Node C", snapshot.name(node));
+        assertEquals("HIGH", snapshot.importance(node));
+    }
+
+    @Test
+    @DisplayName("Test outgoing and incoming adjacency")
+    public void testAdjacency() {
+        assertEquals(List.of("B:DEPENDS_ON", "C:DEPENDS_ON"), neighbours("A", true, null));
+        assertEquals(List.of("C:CONNECTS_TO"), neighbours("A", false, null));
+        assertEquals(List.of("A:DEPENDS_ON"), neighbours("B", false, null));
+        assertEquals(List.of("D:CONNECTS_TO"), neighbours("B", true, null));
+        assertTrue(neighbours("D", true, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test relationship type filter")
+    public void testTypeFilter() {
+        assertEquals(List.of("B:DEPENDS_ON", "C:DEPENDS_ON"), neighbours("A", true, Set.of("DEPENDS_ON")));
+        assertTrue(neighbours("A", true, Set.of("CONNECTS_TO")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test relationship weight and active flag")
+    public void testEdgeProperties() {
+        List<String> result = new ArrayList<>();
+        snapshot.forEachEdge(snapshot.indexOf("A"), true, null,
+            (neighbour, type, weight, active) -> result.add(snapshot.cbdbId(neighbour) + ":" + weight + ":" + active));
+        assertEquals(List.of("B:5.0:true", "C:NaN:false"), result);
+    }
+}
@@ -0,0 +1,60 @@
+package com.mito.graphms;
+
+import com.mito.graphms.dto.QueryRequest;
+import com.mito.graphms.entity.service.QueryGuard;
+import com.mito.graphms.entity.service.QueryPlanInspector;
+import com.mito.graphms.entity.service.QueryRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.AccessMode;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryGuardTest {
+
+    private static QueryGuard guard() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // Plans without touching Neo4j: statements starting with MATCH are read-only
+        QueryPlanInspector planInspector = new QueryPlanInspector(null, meterRegistry, 10) {
+            @Override
+            public Optional<PlanSummary> inspect(String query) {
+                return Optional.of(new PlanSummary(query.startsWith("MATCH"), Set.of(), 10));
+            }
+        };
+        return new QueryGuard(
+            planInspector, meterRegistry, Duration.ofSeconds(30), Duration.ofMinutes(5), 100, 1000,
+            false, 1e7, "CartesianProduct", 1e5, 4, Duration.ofSeconds(1)
+        );
+    }
+
+    private static QueryRequest request(String query, Long maxRows) {
+        QueryRequest request = new QueryRequest(query);
+        request.setMaxRows(maxRows);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Test read-only queries are rejected past the row limit")
+    public void testReadRowLimit() {
+        try (QueryGuard.Admission admission = guard().admit("MATCH (n) RETURN n", request("MATCH (n) RETURN n", 5L), false)) {
+            assertEquals(AccessMode.READ, admission.accessMode());
+            admission.checkRows(5);
+            assertThrows(QueryRejectedException.class, () -> admission.checkRows(6));
+        }
+    }
+
+    @Test
+    @DisplayName("Test write statements returning many rows are not rejected after being applied")
+    public void testWriteNotRowLimited() {
+        String query = "UNWIND range(1, 1000) AS i CREATE (n:ITEM {i: i}) RETURN n";
+        try (QueryGuard.Admission admission = guard().admit(query, request(query, 5L), false)) {
+            assertEquals(AccessMode.WRITE, admission.accessMode());
+            assertDoesNotThrow(() -> admission.checkRows(1000));
+        }
+    }
+}
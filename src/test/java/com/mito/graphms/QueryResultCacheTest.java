@@ -0,0 +1,91 @@
+package com.mito.graphms;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mito.graphms.dto.QueryRequest;
+import com.mito.graphms.entity.service.QueryResultCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryResultCacheTest {
+
+    private static final String QUERY = "MATCH (n:ITEM) WHERE n.status = $p0 RETURN n.cbdb_id AS cbdbId";
+    private static final Map<String, Object> PARAMETERS = Map.of("p0", "DOWN");
+    private static final List<Map<String, Object>> ROWS = List.of(Map.of("cbdbId", "CACHE_NODE_001"));
+
+    private QueryResultCache resultCache;
+
+    @BeforeEach
+    public void setUp() {
+        resultCache = new QueryResultCache(
+            new ObjectMapper(), new SimpleMeterRegistry(), true,
+            Duration.ofSeconds(10), Duration.ofMinutes(5), 1 << 20, 1 << 16);
+    }
+
+    private static QueryRequest request(Long cacheTtlMs) {
+        QueryRequest request = new QueryRequest(QUERY, PARAMETERS);
+        request.setCacheTtlMs(cacheTtlMs);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Hit after a put with the generation read before the query")
+    public void testPutAndGet() {
+        long generation = resultCache.generation();
+        resultCache.put(QUERY, PARAMETERS, ROWS, Duration.ofSeconds(10), generation);
+
+        assertEquals(Optional.of(ROWS), resultCache.get(QUERY, Map.of("p0", "DOWN")));
+        assertTrue(resultCache.get(QUERY, Map.of("p0", "UP")).isEmpty(), "Other parameters are another entry");
+    }
+
+    @Test
+    @DisplayName("A put racing with a write stores nothing")
+    public void testInvalidateDuringQuery() {
+        long generation = resultCache.generation();
+        // A write completes while the query is running
+        resultCache.invalidateAll();
+        List<Map<String, Object>> returned = resultCache.put(QUERY, PARAMETERS, ROWS, Duration.ofSeconds(10), generation);
+
+        assertEquals(ROWS, returned, "The caller still gets its rows");
+        assertTrue(resultCache.get(QUERY, PARAMETERS).isEmpty(), "A possibly stale result must not be cached");
+    }
+
+    @Test
+    @DisplayName("A put racing with a write keeps no entry stored before the write either")
+    public void testInvalidateClearsEntries() {
+        resultCache.put(QUERY, PARAMETERS, ROWS, Duration.ofSeconds(10), resultCache.generation());
+        long generation = resultCache.generation();
+        resultCache.invalidateAll();
+        resultCache.put(QUERY, PARAMETERS, List.of(), Duration.ofSeconds(10), generation);
+
+        assertTrue(resultCache.get(QUERY, PARAMETERS).isEmpty());
+    }
+
+    @Test
+    @DisplayName("TTL hints: none for the default, zero or less bypasses, large values are capped")
+    public void testTtlFor() {
+        assertEquals(Optional.of(Duration.ofSeconds(10)), resultCache.ttlFor(request(null)));
+        assertEquals(Optional.of(Duration.ofMillis(1500)), resultCache.ttlFor(request(1500L)));
+        assertTrue(resultCache.ttlFor(request(0L)).isEmpty());
+        assertTrue(resultCache.ttlFor(request(-1L)).isEmpty());
+        assertEquals(Optional.of(Duration.ofMinutes(5)), resultCache.ttlFor(request(Duration.ofHours(1).toMillis())));
+    }
+
+    @Test
+    @DisplayName("A disabled cache never caches")
+    public void testDisabled() {
+        QueryResultCache disabled = new QueryResultCache(
+            new ObjectMapper(), new SimpleMeterRegistry(), false,
+            Duration.ofSeconds(10), Duration.ofMinutes(5), 1 << 20, 1 << 16);
+
+        assertTrue(disabled.ttlFor(request(1500L)).isEmpty());
+    }
+}
@@ -0,0 +1,195 @@
+package com.mito.graphms;
+
+import com.mito.graphms.configuration.Neo4jBookmarkHeaders;
+import com.mito.graphms.entity.service.ReadCoalescer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReadCoalescer coalescer;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // No transaction manager: only execute is used, which does not open transactions
+        coalescer = new ReadCoalescer(null, meterRegistry, true);
+        loads = new AtomicInteger();
+    }
+
+    private double coalesced() {
+        Counter counter = meterRegistry.find("graph.reads.coalesced").counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    // Loader that waits until every other caller has joined its flight, then returns or fails
+    private Supplier<String> leaderLoader(int followers, RuntimeException failure) {
+        return () -> {
+            loads.incrementAndGet();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (coalesced() < followers && System.nanoTime() < deadline) {
+                Thread.yield();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return "CACHE_NODE_001";
+        };
+    }
+
+    private List<Future<String>> runConcurrently(ExecutorService executor, Supplier<String> loader) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return coalescer.execute("findNodeByCbdbId", "CACHE_NODE_001", loader);
+            }));
+        }
+        start.countDown();
+        return results;
+    }
+
+    @Test
+    @DisplayName("Concurrent identical reads share one loader call")
+    public void testSingleFlight() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            for (Future<String> result : runConcurrently(executor, leaderLoader(CALLERS - 1, null))) {
+                assertEquals("CACHE_NODE_001", result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get(), "Only the leading caller should load");
+        assertEquals(CALLERS - 1, coalesced());
+        assertEquals(0, meterRegistry.get("graph.reads.inflight").gauge().value(), "The flight should be removed");
+    }
+
+    @Test
+    @DisplayName("A loader failure reaches every waiter and frees the key")
+    public void testFailure() throws Exception {
+        IllegalStateException failure = new IllegalStateException("Neo4j unavailable");
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            for (Future<String> result : runConcurrently(executor, leaderLoader(CALLERS - 1, failure))) {
+                Exception thrown = assertThrows(Exception.class, () -> result.get(10, TimeUnit.SECONDS));
+                assertSame(failure, thrown.getCause(), "Every caller should get the loader failure");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+
+        String retried = coalescer.execute("findNodeByCbdbId", "CACHE_NODE_001", () -> {
+            loads.incrementAndGet();
+            return "CACHE_NODE_001";
+        });
+        assertEquals("CACHE_NODE_001", retried);
+        assertEquals(2, loads.get(), "The failed flight must not be reused");
+    }
+
+    @Test
+    @DisplayName("Callers inside a transaction are not coalesced")
+    public void testTransactionBypass() throws Exception {
+        CountDownLatch leaderLoading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = executor.submit(() -> coalescer.execute("findNodeByCbdbId", "CACHE_NODE_001", () -> {
+                loads.incrementAndGet();
+                leaderLoading.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "committed";
+            }));
+            assertTrue(leaderLoading.await(10, TimeUnit.SECONDS));
+
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            try {
+                String own = coalescer.execute("findNodeByCbdbId", "CACHE_NODE_001", () -> {
+                    loads.incrementAndGet();
+                    return "uncommitted";
+                });
+                assertEquals("uncommitted", own, "The transactional caller should run its own read");
+            } finally {
+                TransactionSynchronizationManager.setActualTransactionActive(false);
+            }
+
+            release.countDown();
+            assertEquals("committed", leader.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2, loads.get());
+        assertEquals(0, coalesced());
+    }
+
+    @Test
+    @DisplayName("Requests carrying bookmarks are not coalesced")
+    public void testBookmarkBypass() throws Exception {
+        CountDownLatch leaderLoading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = executor.submit(() -> coalescer.execute("findNodeByCbdbId", "CACHE_NODE_001", () -> {
+                loads.incrementAndGet();
+                leaderLoading.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "before write";
+            }));
+            assertTrue(leaderLoading.await(10, TimeUnit.SECONDS));
+
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader(Neo4jBookmarkHeaders.HEADER, "FB:kcwQ");
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            try {
+                String own = coalescer.execute("findNodeByCbdbId", "CACHE_NODE_001", () -> {
+                    loads.incrementAndGet();
+                    return "after write";
+                });
+                assertEquals("after write", own, "The bookmarked caller should run its own read");
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+
+            release.countDown();
+            assertEquals("before write", leader.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2, loads.get());
+        assertEquals(0, coalesced());
+    }
+}